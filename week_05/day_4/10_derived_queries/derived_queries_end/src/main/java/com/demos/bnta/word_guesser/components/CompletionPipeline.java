@@ -0,0 +1,134 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.GameCompleted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Hands GameCompleted events to each consumer through its own bounded queue and thread, so a
+// winning guess only pays for queueing the event. If a consumer falls a whole queue behind,
+// publishing waits up to publish-timeout-ms for room and then drops the event for that consumer,
+// counting it in word_guesser.completions.rejected. Events published once the pipeline has been
+// stopped are rejected straight away, since nothing is left to take them off the queue.
+// Callers must not hold any game locks while publishing.
+@Component
+public class CompletionPipeline {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompletionPipeline.class);
+
+    @Autowired(required = false)
+    List<GameCompletedConsumer> consumers = new ArrayList<>();
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${word_guesser.completions.queue-capacity:1024}")
+    int queueCapacity;
+
+    @Value("${word_guesser.completions.publish-timeout-ms:100}")
+    long publishTimeoutMillis;
+
+    private final List<Worker> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void start(){
+        for (GameCompletedConsumer consumer : consumers) {
+            String name = ClassUtils.getUserClass(consumer).getSimpleName();
+            Worker worker = new Worker(name, consumer, new ArrayBlockingQueue<>(queueCapacity));
+            // Lag is how many events the consumer still has to get through
+            meterRegistry.gauge("word_guesser.completions.lag", Tags.of("consumer", name), worker.queue, BlockingQueue::size);
+            worker.thread.start();
+            workers.add(worker);
+        }
+    }
+
+    public void publish(GameCompleted event){
+        for (Worker worker : workers) {
+            if (!running){
+                worker.rejected.increment();
+                continue;
+            }
+            boolean queued;
+            try {
+                queued = worker.queue.offer(event, publishTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued){
+                worker.rejected.increment();
+                LOGGER.warn("{} is {} events behind, dropped completion of game {}",
+                        worker.name, worker.queue.size(), event.getGameId());
+            }
+        }
+    }
+
+    // Lets each consumer finish what's already queued before the beans it uses are destroyed
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Worker worker : workers) {
+            worker.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private class Worker implements Runnable {
+
+        private final String name;
+        private final GameCompletedConsumer consumer;
+        private final BlockingQueue<GameCompleted> queue;
+        private final Thread thread;
+        private final Timer delay;
+        private final Counter rejected;
+
+        Worker(String name, GameCompletedConsumer consumer, BlockingQueue<GameCompleted> queue) {
+            this.name = name;
+            this.consumer = consumer;
+            this.queue = queue;
+            this.thread = new Thread(this, "completions-" + name);
+            this.thread.setDaemon(true);
+            // Time from the win to the consumer finishing with it
+            this.delay = meterRegistry.timer("word_guesser.completions.delay", "consumer", name);
+            // Events this consumer never got, because its queue stayed full or it had stopped
+            this.rejected = meterRegistry.counter("word_guesser.completions.rejected", "consumer", name);
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                GameCompleted event;
+                try {
+                    event = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (event == null){
+                    continue;
+                }
+                try {
+                    consumer.onGameCompleted(event);
+                } catch (RuntimeException e) {
+                    LOGGER.error("{} failed to handle completion of game {}", name, event.getGameId(), e);
+                }
+                delay.record(System.currentTimeMillis() - event.getCompletedAt(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+}
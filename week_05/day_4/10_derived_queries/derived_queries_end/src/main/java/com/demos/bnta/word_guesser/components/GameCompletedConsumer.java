@@ -0,0 +1,11 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.GameCompleted;
+
+// Any bean implementing this is given every GameCompleted event by CompletionPipeline,
+// on a thread of its own
+public interface GameCompletedConsumer {
+
+    void onGameCompleted(GameCompleted event);
+
+}
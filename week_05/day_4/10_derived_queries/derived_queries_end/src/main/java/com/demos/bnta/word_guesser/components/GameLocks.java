@@ -0,0 +1,29 @@
+package com.demos.bnta.word_guesser.components;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Striped locks by game id: guesses on the same game queue up behind each other, while games
+// on different stripes never wait for one another. A fixed number of locks covers any number
+// of games, so nothing needs cleaning up when games finish.
+@Component
+public class GameLocks {
+
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] locks;
+
+    public GameLocks() {
+        this.locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(int gameId){
+        return this.locks[Math.floorMod(gameId, STRIPES)];
+    }
+
+}
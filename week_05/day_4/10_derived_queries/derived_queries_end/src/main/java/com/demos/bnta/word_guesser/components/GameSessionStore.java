@@ -0,0 +1,83 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+// Holds the in-progress state (masked word and guessed letters) of each game, keyed by game id.
+// Sessions that haven't been touched for longer than max-idle-ms are evicted.
+@Component
+public class GameSessionStore {
+
+    @Autowired
+    GameLocks gameLocks;
+
+    @Value("${word_guesser.sessions.max-idle-ms:1800000}")
+    private long maxIdleMillis;
+
+    private final ConcurrentHashMap<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+
+    public GameSession startSession(Game game){
+        GameSession session = new GameSession(game.getId(), game.getWord(), game.getGuesses());
+        this.sessions.put(game.getId(), session);
+        return session;
+    }
+
+    // Sessions that aren't in memory (evicted or from before a restart) are rebuilt by the loader.
+    // The loader reads the database, so it runs outside the map rather than holding up other games
+    // that hash to the same bin; if two callers load the same game, the first one stored wins.
+    public GameSession getSession(int gameId, Supplier<GameSession> loader){
+        GameSession session = this.sessions.get(gameId);
+        if (session == null){
+            GameSession loaded = loader.get();
+            session = this.sessions.putIfAbsent(gameId, loaded);
+            if (session == null){
+                session = loaded;
+            }
+        }
+        session.touch();
+        return session;
+    }
+
+    public Optional<GameSession> findSession(int gameId){
+        return Optional.ofNullable(this.sessions.get(gameId));
+    }
+
+    public void endSession(int gameId){
+        this.sessions.remove(gameId);
+    }
+
+    public int size(){
+        return this.sessions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${word_guesser.sessions.eviction-interval-ms:60000}")
+    public void evictIdleSessions(){
+        long cutoff = System.currentTimeMillis() - this.maxIdleMillis;
+        for (GameSession session : this.sessions.values()) {
+            if (session.getLastAccessed() >= cutoff){
+                continue;
+            }
+            // Skip sessions that are in use, they'll be looked at again next time
+            Lock lock = gameLocks.lockFor(session.getGameId());
+            if (lock.tryLock()){
+                try {
+                    if (session.getLastAccessed() < cutoff){
+                        this.sessions.remove(session.getGameId(), session);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.demos.bnta.word_guesser.components;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// Periodically replays guess_events into the guesses and complete columns of games.
+// Every game with an event since the last run is recounted from all of its events, so running
+// over the same events twice is harmless. The look-back covers events queued by write-behind,
+// which are inserted up to max-lag-ms after they happened.
+// Not needed with the in-memory profile, where GameList's games are always up to date.
+@Component
+@Profile("!in-memory")
+public class GameSnapshotter {
+
+    private static final String SNAPSHOT_SQL = "UPDATE games SET "
+            + "guesses = (SELECT COUNT(*) FROM guess_events e "
+            + "WHERE e.game_id = games.id AND e.outcome IN ('MISS', 'HIT', 'WIN')), "
+            + "complete = (complete OR EXISTS (SELECT 1 FROM guess_events e "
+            + "WHERE e.game_id = games.id AND e.outcome = 'WIN')), "
+            + "version = version + 1 "
+            + "WHERE id IN (SELECT e.game_id FROM guess_events e WHERE e.created_at >= :since)";
+
+    @Autowired
+    NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${word_guesser.write-behind.max-lag-ms:1000}")
+    private long maxLagMillis;
+
+    private Instant lastRun = Instant.EPOCH;
+
+    @Scheduled(fixedDelayString = "${word_guesser.snapshots.interval-ms:5000}")
+    public synchronized void snapshot(){
+        Instant started = Instant.now();
+        Instant since = this.lastRun.minusMillis(this.maxLagMillis + 5000);
+        jdbcTemplate.update(SNAPSHOT_SQL, new MapSqlParameterSource("since", Timestamp.from(since)));
+        this.lastRun = started;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.GameToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+// Encodes game tokens as base64url(game id, word id, guessed letters, guess count, HMAC).
+// Any node with the same secret can check a token, so guesses need no shared state.
+// Only created when word_guesser.tokens.enabled=true.
+@Component
+@ConditionalOnProperty(name = "word_guesser.tokens.enabled", havingValue = "true")
+public class GameTokens {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameTokens.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int SIGNATURE_LENGTH = 16;
+
+    @Value("${word_guesser.tokens.secret:}")
+    String secret;
+
+    private SecretKeySpec key;
+
+    // Mac instances aren't thread safe, so each thread keeps its own
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    public void init(){
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()){
+            LOGGER.warn("word_guesser.tokens.secret is not set, game tokens will only work on this instance until it restarts");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String issue(GameToken token){
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH + SIGNATURE_LENGTH);
+        buffer.putInt(token.getGameId());
+        buffer.putLong(token.getWordId());
+        buffer.putInt(token.getGuessedMask());
+        buffer.putInt(token.getGuesses());
+        buffer.put(sign(buffer.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    // Empty if the token is malformed or wasn't signed with our secret
+    public Optional<GameToken> verify(String encoded){
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length != PAYLOAD_LENGTH + SIGNATURE_LENGTH){
+            return Optional.empty();
+        }
+        byte[] signature = Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, bytes.length);
+        if (!MessageDigest.isEqual(signature, sign(bytes))){
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, PAYLOAD_LENGTH);
+        return Optional.of(new GameToken(buffer.getInt(), buffer.getLong(), buffer.getInt(), buffer.getInt()));
+    }
+
+    // Signature over the payload at the start of the array, cut down to SIGNATURE_LENGTH bytes
+    private byte[] sign(byte[] bytes){
+        Mac mac = macs.get();
+        mac.update(bytes, 0, PAYLOAD_LENGTH);
+        return Arrays.copyOf(mac.doFinal(), SIGNATURE_LENGTH);
+    }
+
+    private Mac newMac(){
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(this.key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Couldn't set up " + ALGORITHM, e);
+        }
+    }
+
+}
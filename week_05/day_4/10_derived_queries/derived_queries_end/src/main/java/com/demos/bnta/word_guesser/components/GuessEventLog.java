@@ -0,0 +1,115 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.GuessEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+// Append-only log of guesses. Games rows are never updated per guess, GameSnapshotter folds
+// these events into them instead. With write-behind enabled, events are queued in memory and
+// inserted in JDBC batches at most max-lag-ms later (events whose batch fails are kept for the
+// next flush); otherwise they're inserted straight away.
+@Component
+public class GuessEventLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GuessEventLog.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO guess_events (game_id, letter, outcome, created_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${word_guesser.write-behind.enabled:false}")
+    private boolean writeBehind;
+
+    @Value("${word_guesser.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private final ConcurrentLinkedDeque<GuessEvent> pending = new ConcurrentLinkedDeque<>();
+
+    public void append(GuessEvent event){
+        if (writeBehind){
+            pending.add(event);
+        } else {
+            jdbcTemplate.update(INSERT_SQL, toRow(event));
+        }
+    }
+
+    public void appendAll(List<GuessEvent> events){
+        if (writeBehind){
+            pending.addAll(events);
+        } else {
+            insert(events);
+        }
+    }
+
+    public int size(){
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${word_guesser.write-behind.max-lag-ms:1000}")
+    public synchronized void flush(){
+        List<GuessEvent> drained = new ArrayList<>();
+        GuessEvent event;
+        while ((event = pending.poll()) != null){
+            drained.add(event);
+        }
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<GuessEvent> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            try {
+                insert(batch);
+            } catch (DataAccessException e) {
+                // Put this batch and everything after it back at the head, in order, for the next flush
+                List<GuessEvent> unwritten = drained.subList(from, drained.size());
+                for (int i = unwritten.size() - 1; i >= 0; i--) {
+                    pending.addFirst(unwritten.get(i));
+                }
+                meterRegistry.counter("word_guesser.write-behind.failures", "table", "guess_events").increment();
+                LOGGER.warn("Couldn't write {} guess events, they'll be retried", unwritten.size(), e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown(){
+        flush();
+    }
+
+    private void insert(List<GuessEvent> events){
+        if (events.isEmpty()){
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (GuessEvent event : events) {
+            rows.add(toRow(event));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private Object[] toRow(GuessEvent event){
+        return new Object[]{
+                event.getGameId(),
+                event.getLetter(),
+                event.getOutcome().name(),
+                Timestamp.from(event.getCreatedAt())
+        };
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.demos.bnta.word_guesser.components;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Opt-in (word_guesser.virtual-threads.enabled=true): runs Tomcat requests and Spring's async
+// work (e.g. streamed responses) on virtual threads, so requests blocked on JDBC don't tie up
+// a platform thread each. The database is still protected by the bounded Hikari pool.
+// The project compiles for Java 17, so the executor is looked up at runtime and needs Java 21+.
+@Configuration
+@ConditionalOnProperty(name = "word_guesser.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(){
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadExecutor());
+    }
+
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor(){
+        return new TaskExecutorAdapter(newVirtualThreadExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadExecutor(){
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("word_guesser.virtual-threads.enabled needs Java 21 or later", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+
+}
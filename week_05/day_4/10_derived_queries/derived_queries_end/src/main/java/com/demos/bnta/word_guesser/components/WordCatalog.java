@@ -0,0 +1,92 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.Word;
+import com.demos.bnta.word_guesser.repositories.WordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// In-memory copy of every word, loaded once the app has started (after DataLoader has run).
+// Words are only ever appended, so readers never need a lock: they read the size first and
+// every array published afterwards holds at least that many words.
+@Component
+public class WordCatalog {
+
+    @Autowired
+    WordRepository wordRepository;
+
+    private volatile Word[] words = new Word[0];
+    private volatile int size = 0;
+    private final Map<Long, Integer> indexById = new ConcurrentHashMap<>();
+
+    // Runs before the other startup listeners, which read the catalog
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load(){
+        refresh();
+    }
+
+    public synchronized void refresh(){
+        List<Word> allWords = wordRepository.findAll();
+        this.words = allWords.toArray(new Word[0]);
+        this.size = this.words.length;
+        this.indexById.clear();
+        for (int i = 0; i < this.size; i++) {
+            this.indexById.put(this.words[i].getId(), i);
+        }
+    }
+
+    public synchronized void addWord(Word word){
+        if (this.size == this.words.length){
+            this.words = Arrays.copyOf(this.words, Math.max(16, this.size * 2));
+        }
+        this.words[this.size] = word;
+        this.indexById.put(word.getId(), this.size);
+        this.size = this.size + 1;
+    }
+
+    public Word getRandomWord(){
+        int currentSize = this.size;
+        if (currentSize == 0){
+            throw new NoSuchElementException("No words have been loaded");
+        }
+        return this.words[ThreadLocalRandom.current().nextInt(currentSize)];
+    }
+
+    public Word getWord(int index){
+        return this.words[index];
+    }
+
+    public Optional<Word> findById(long wordId){
+        int index = indexOf(wordId);
+        if (index < 0){
+            return Optional.empty();
+        }
+        return Optional.of(this.words[index]);
+    }
+
+    // Position of a word in the catalog, or -1 if it hasn't been loaded
+    public int indexOf(long wordId){
+        Integer index = this.indexById.get(wordId);
+        if (index == null){
+            return -1;
+        }
+        return index;
+    }
+
+    public int size(){
+        return this.size;
+    }
+
+}
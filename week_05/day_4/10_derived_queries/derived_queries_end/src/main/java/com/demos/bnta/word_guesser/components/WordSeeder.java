@@ -0,0 +1,84 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.Word;
+import com.demos.bnta.word_guesser.repositories.WordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams a word list (one word per line) into the words table. Words get ids from a sequence,
+// so Hibernate can send each chunk as one JDBC batch, and each chunk is its own transaction
+// with the persistence context cleared afterwards, so memory use doesn't grow with the file.
+@Component
+public class WordSeeder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WordSeeder.class);
+
+    @Autowired
+    WordRepository wordRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${word_guesser.seed.words-file:classpath:words.txt}")
+    private Resource wordsFile;
+
+    @Value("${word_guesser.seed.batch-size:1000}")
+    private int batchSize;
+
+    public long seed() throws IOException {
+        long started = System.nanoTime();
+        long count = 0;
+        List<Word> chunk = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(wordsFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String rawWord = line.trim().toLowerCase();
+                if (rawWord.isEmpty()) {
+                    continue;
+                }
+                chunk.add(new Word(rawWord));
+                if (chunk.size() == batchSize) {
+                    count += saveChunk(chunk);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        count += saveChunk(chunk);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        LOGGER.info("Seeded {} words from {} in {} s ({} rows/s)",
+                count, wordsFile.getFilename(), String.format("%.2f", seconds), String.format("%.0f", count / seconds));
+        return count;
+    }
+
+    private int saveChunk(List<Word> chunk){
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            wordRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return chunk.size();
+    }
+
+}
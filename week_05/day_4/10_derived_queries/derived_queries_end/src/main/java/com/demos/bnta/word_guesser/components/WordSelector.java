@@ -0,0 +1,310 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.Difficulty;
+import com.demos.bnta.word_guesser.models.Word;
+import com.demos.bnta.word_guesser.models.WordPattern;
+import com.demos.bnta.word_guesser.models.WordStats;
+import com.demos.bnta.word_guesser.repositories.WordRepository;
+import com.demos.bnta.word_guesser.repositories.WordStatsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Picks words a player hasn't had yet. Each player's drawn words are a BitSet over catalog
+// indices, loaded from players_words the first time they're needed. A few random draws almost
+// always find a fresh word; only players who've seen most of a band fall back to a scan, and once
+// that scan comes up empty the band is marked exhausted for them until the catalog or bands change.
+@Component
+public class WordSelector {
+
+    private static final int RANDOM_ATTEMPTS = 16;
+
+    // Below this many wins the mean guesses are too noisy, so the word's length is used instead
+    private static final int MIN_WINS_FOR_STATS = 5;
+
+    @Autowired
+    WordCatalog wordCatalog;
+
+    @Autowired
+    WordRepository wordRepository;
+
+    @Autowired
+    WordStatsRepository wordStatsRepository;
+
+    @Value("${word_guesser.word-selection.max-players:100000}")
+    long maxPlayers;
+
+    private Cache<Long, Draws> drawsByPlayer;
+
+    private volatile Bands bands = new Bands(new byte[0], new int[Difficulty.values().length], 0, 0);
+
+    @PostConstruct
+    public void init(){
+        this.drawsByPlayer = Caffeine.newBuilder()
+                .maximumSize(maxPlayers)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load(){
+        rebuildBands();
+    }
+
+    // Splits the catalog into thirds by how many guesses each word takes to win
+    @Scheduled(
+            fixedDelayString = "${word_guesser.word-selection.rebuild-interval-ms:3600000}",
+            initialDelayString = "${word_guesser.word-selection.rebuild-interval-ms:3600000}"
+    )
+    public void rebuildBands(){
+        int size = wordCatalog.size();
+        Map<String, WordStats> stats = new HashMap<>();
+        for (WordStats wordStats : wordStatsRepository.findAll()) {
+            stats.put(wordStats.getWord(), wordStats);
+        }
+        double[] scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            String word = wordCatalog.getWord(i).getWord();
+            scores[i] = score(word, stats.get(word));
+        }
+        double[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        double easyCutoff = size == 0 ? 0 : sorted[size / 3];
+        double hardCutoff = size == 0 ? 0 : sorted[(2 * size) / 3];
+        byte[] bandByIndex = new byte[size];
+        int[] sizeByBand = new int[Difficulty.values().length];
+        for (int i = 0; i < size; i++) {
+            Difficulty difficulty = band(scores[i], easyCutoff, hardCutoff);
+            bandByIndex[i] = (byte) difficulty.ordinal();
+            sizeByBand[difficulty.ordinal()]++;
+        }
+        this.bands = new Bands(bandByIndex, sizeByBand, easyCutoff, hardCutoff);
+    }
+
+    // Draws a word for the player, preferring ones they haven't seen. A null difficulty
+    // allows any band. If no word in the catalog is in the requested band, one from any band
+    // is drawn instead and the selection is marked as a fallback.
+    public Selection select(long playerId, Difficulty difficulty){
+        int size = wordCatalog.size();
+        if (size == 0){
+            throw new NoSuchElementException("No words have been loaded");
+        }
+        Bands current = this.bands;
+        Draws draws = drawsByPlayer.get(playerId, this::loadDraws);
+        synchronized (draws) {
+            draws.checkExhausted(size, current);
+            Selection selection = draw(draws, size, difficulty);
+            if (selection == null){
+                selection = draw(draws, size, null);
+                return new Selection(selection.word, selection.difficulty, selection.firstDraw, true);
+            }
+            return selection;
+        }
+    }
+
+    public Difficulty difficultyOf(int index){
+        Bands current = this.bands;
+        if (index < current.bandByIndex.length){
+            return Difficulty.values()[current.bandByIndex[index]];
+        }
+        // Added since the last rebuild, so there are no stats for it yet
+        String word = wordCatalog.getWord(index).getWord();
+        return band(score(word, null), current.easyCutoff, current.hardCutoff);
+    }
+
+    private Draws loadDraws(long playerId){
+        BitSet seen = new BitSet(wordCatalog.size());
+        for (Long wordId : wordRepository.findWordIdsByPlayerId(playerId)) {
+            int index = wordCatalog.indexOf(wordId);
+            if (index >= 0){
+                seen.set(index);
+            }
+        }
+        return new Draws(seen);
+    }
+
+    // A word from the band, unseen if there are any left, or null if the band has no words
+    private Selection draw(Draws draws, int size, Difficulty difficulty){
+        if (!draws.isExhausted(difficulty)){
+            int index = findUnseen(draws.seen, size, difficulty);
+            if (index >= 0){
+                draws.seen.set(index);
+                return new Selection(wordCatalog.getWord(index), difficultyOf(index), true, false);
+            }
+            draws.markExhausted(difficulty);
+        }
+        // Everything in the band has been played, so repeat one
+        int index = findAny(size, difficulty);
+        if (index < 0){
+            return null;
+        }
+        return new Selection(wordCatalog.getWord(index), difficultyOf(index), false, false);
+    }
+
+    private int findUnseen(BitSet seen, int size, Difficulty difficulty){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < RANDOM_ATTEMPTS; attempt++) {
+            int index = random.nextInt(size);
+            if (!seen.get(index) && matches(index, difficulty)){
+                return index;
+            }
+        }
+        // Few candidates are left, so walk the unseen words from a random start instead
+        int start = random.nextInt(size);
+        for (int index = seen.nextClearBit(start); index < size; index = seen.nextClearBit(index + 1)) {
+            if (matches(index, difficulty)){
+                return index;
+            }
+        }
+        for (int index = seen.nextClearBit(0); index < start; index = seen.nextClearBit(index + 1)) {
+            if (matches(index, difficulty)){
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Any word in the band, or -1 if it has none
+    private int findAny(int size, Difficulty difficulty){
+        Bands current = this.bands;
+        if (difficulty != null && size == current.bandByIndex.length
+                && current.sizeByBand[difficulty.ordinal()] == 0){
+            return -1;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < RANDOM_ATTEMPTS; attempt++) {
+            int index = random.nextInt(size);
+            if (matches(index, difficulty)){
+                return index;
+            }
+        }
+        int start = random.nextInt(size);
+        for (int offset = 0; offset < size; offset++) {
+            int index = (start + offset) % size;
+            if (matches(index, difficulty)){
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(int index, Difficulty difficulty){
+        return difficulty == null || difficultyOf(index) == difficulty;
+    }
+
+    // Mean guesses to win, or the number of distinct letters (the fewest guesses a win can take)
+    private static double score(String word, WordStats stats){
+        if (stats != null && stats.getWins() >= MIN_WINS_FOR_STATS){
+            return stats.getMeanGuesses();
+        }
+        return Integer.bitCount(new WordPattern(word).getLetterMask());
+    }
+
+    private static Difficulty band(double score, double easyCutoff, double hardCutoff){
+        if (score < easyCutoff){
+            return Difficulty.EASY;
+        } else if (score < hardCutoff){
+            return Difficulty.MEDIUM;
+        }
+        return Difficulty.HARD;
+    }
+
+    public static class Selection {
+
+        private final Word word;
+        private final Difficulty difficulty;
+        private final boolean firstDraw;
+        private final boolean fallback;
+
+        Selection(Word word, Difficulty difficulty, boolean firstDraw, boolean fallback) {
+            this.word = word;
+            this.difficulty = difficulty;
+            this.firstDraw = firstDraw;
+            this.fallback = fallback;
+        }
+
+        public Word getWord() {
+            return word;
+        }
+
+        // The band the word is actually in
+        public Difficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public boolean isFirstDraw() {
+            return firstDraw;
+        }
+
+        // True if the requested band had no words, so the word is from another one
+        public boolean isFallback() {
+            return fallback;
+        }
+    }
+
+    private static class Bands {
+
+        private final byte[] bandByIndex;
+        private final int[] sizeByBand;
+        private final double easyCutoff;
+        private final double hardCutoff;
+
+        Bands(byte[] bandByIndex, int[] sizeByBand, double easyCutoff, double hardCutoff) {
+            this.bandByIndex = bandByIndex;
+            this.sizeByBand = sizeByBand;
+            this.easyCutoff = easyCutoff;
+            this.hardCutoff = hardCutoff;
+        }
+    }
+
+    // A player's drawn words, plus the bands they've run out of unseen words in. The exhausted
+    // bands only hold for the catalog size and bands they were found with, since new words or a
+    // rebuild can put unseen words back in a band.
+    private static class Draws {
+
+        // The bit after the last difficulty stands for "any band"
+        private static final int ANY_BAND = Difficulty.values().length;
+
+        private final BitSet seen;
+        private int exhausted;
+        private int exhaustedAtSize;
+        private Bands exhaustedWith;
+
+        Draws(BitSet seen) {
+            this.seen = seen;
+        }
+
+        void checkExhausted(int size, Bands bands) {
+            if (size != exhaustedAtSize || bands != exhaustedWith){
+                this.exhausted = 0;
+                this.exhaustedAtSize = size;
+                this.exhaustedWith = bands;
+            }
+        }
+
+        boolean isExhausted(Difficulty difficulty) {
+            return (exhausted & bit(difficulty)) != 0;
+        }
+
+        void markExhausted(Difficulty difficulty) {
+            this.exhausted |= bit(difficulty);
+        }
+
+        private static int bit(Difficulty difficulty) {
+            return 1 << (difficulty == null ? ANY_BAND : difficulty.ordinal());
+        }
+    }
+
+}
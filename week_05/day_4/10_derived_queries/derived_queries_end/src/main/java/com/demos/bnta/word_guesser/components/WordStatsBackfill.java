@@ -0,0 +1,38 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.repositories.WordStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Fills an empty word_stats from the games table the first time the app starts, after which
+// WordStatsService keeps it up to date.
+// Not needed with the in-memory profile, where the games table is never written and GameList
+// starts empty, so there's nothing to count.
+@Component
+@Profile("!in-memory")
+public class WordStatsBackfill {
+
+    private static final String BACKFILL_SQL = "INSERT INTO word_stats (word, plays, wins, total_winning_guesses) "
+            + "SELECT word, COUNT(*), "
+            + "SUM(CASE WHEN complete THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN complete THEN guesses ELSE 0 END) "
+            + "FROM games GROUP BY word";
+
+    @Autowired
+    WordStatsRepository wordStatsRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill(){
+        if (wordStatsRepository.count() == 0){
+            jdbcTemplate.update(BACKFILL_SQL);
+        }
+    }
+
+}
@@ -1,19 +1,30 @@
 package com.demos.bnta.word_guesser.controllers;
 
+import com.demos.bnta.word_guesser.models.Difficulty;
 import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameDTO;
+import com.demos.bnta.word_guesser.models.GameGuess;
+import com.demos.bnta.word_guesser.models.GamePage;
 import com.demos.bnta.word_guesser.models.Guess;
+import com.demos.bnta.word_guesser.models.GuessEvent;
 import com.demos.bnta.word_guesser.models.LetterList;
 import com.demos.bnta.word_guesser.models.Reply;
 import com.demos.bnta.word_guesser.services.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "/games")
@@ -22,12 +33,23 @@ public class GameController {
     @Autowired
     GameService gameService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final Set<String> PAGE_PARAMETERS = Set.of("after", "limit");
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
 //  Alternative Index Route
     @GetMapping
-    public ResponseEntity<List<Game>> getAllGames(
+    public ResponseEntity<List<GameDTO>> getAllGames(
             @RequestParam Map<String, String> parameters
     ){
-        List<Game> games;
+        List<GameDTO> games;
         if(!parameters.isEmpty()){
             games = gameService.getAllGamesMultiParam(parameters);
         } else {
@@ -36,6 +58,53 @@ public class GameController {
         return new ResponseEntity<>(games, HttpStatus.OK);
     }
 
+//  Paginated Index Route, e.g. /games?after=100&limit=50
+    @GetMapping(params = "limit")
+    public ResponseEntity<GamePage> getGamesPage(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam int limit,
+            @RequestParam Map<String, String> parameters
+    ){
+        return getPage(after, limit, parameters);
+    }
+
+//  /games?after=100 pages too, with the default page size
+    @GetMapping(params = {"after", "!limit"})
+    public ResponseEntity<GamePage> getGamesPageAfter(
+            @RequestParam int after,
+            @RequestParam Map<String, String> parameters
+    ){
+        return getPage(after, DEFAULT_PAGE_SIZE, parameters);
+    }
+
+//  Pages are in id order over all games, so filters can't be applied to them
+    private ResponseEntity<GamePage> getPage(int after, int limit, Map<String, String> parameters){
+        if (!PAGE_PARAMETERS.containsAll(parameters.keySet())){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        GamePage page = gameService.getGamesAfter(after, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+//  Streams every game as newline-delimited JSON without holding them all in memory
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllGames(){
+        StreamingResponseBody body = outputStream -> gameService.streamAllGames(game -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(game));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
 //    @GetMapping
 //    public ResponseEntity<List<Game>> getAllGames(
 //            @RequestParam Optional<Boolean> isComplete,
@@ -57,8 +126,8 @@ public class GameController {
 //    }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Game> getGameById(@PathVariable int id){
-        Optional<Game> game = gameService.getGameById(id);
+    public ResponseEntity<GameDTO> getGameById(@PathVariable int id){
+        Optional<GameDTO> game = gameService.getGameById(id);
         if (game.isPresent()){
             return new ResponseEntity<>(game.get(), HttpStatus.OK);
         } else {
@@ -68,21 +137,55 @@ public class GameController {
 
     @PatchMapping(value = "/{id}")
     public ResponseEntity<Reply> submitGuess(@RequestBody Guess guess, @PathVariable int id){
+        // Token games carry their own state, anything else uses the server-side session
+        if (guess.getToken() != null){
+            Optional<Reply> reply = gameService.processTokenGuess(guess.getToken(), id, guess.getLetter());
+            if (reply.isPresent()){
+                return new ResponseEntity<>(reply.get(), HttpStatus.OK);
+            } else {
+                return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+            }
+        }
         Reply reply = gameService.processGuess(guess, id);
         return new ResponseEntity<>(reply, HttpStatus.OK);
     }
 
+//  Submits many guesses, for one or more games, in a single request
+    @PostMapping(value = "/guesses")
+    public ResponseEntity<List<Reply>> submitGuesses(@RequestBody List<GameGuess> guesses){
+        if (guesses.size() > MAX_BATCH_SIZE){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        for (GameGuess guess : guesses) {
+            // Every guess has to say which game it's for
+            if (guess == null || guess.getGameId() == null){
+                return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+            }
+        }
+        List<Reply> replies = gameService.processGuesses(guesses);
+        return new ResponseEntity<>(replies, HttpStatus.OK);
+    }
 
-    @GetMapping(value = "/guessed")
-    public ResponseEntity<LetterList> checkGuesses(){
-        ArrayList<String> guesses = gameService.getGuessedLetters();
+    @GetMapping(value = "/{id}/guessed")
+    public ResponseEntity<LetterList> checkGuesses(@PathVariable int id){
+        ArrayList<String> guesses = gameService.getGuessedLetters(id);
         LetterList guessedLetters = new LetterList(guesses);
         return new ResponseEntity<>(guessedLetters, HttpStatus.OK);
     }
 
+//  Every guess made in the game, in order
+    @GetMapping(value = "/{id}/events")
+    public ResponseEntity<List<GuessEvent>> getGuessEvents(@PathVariable int id){
+        List<GuessEvent> events = gameService.getGuessEvents(id);
+        return new ResponseEntity<>(events, HttpStatus.OK);
+    }
+
     @PostMapping
-    public ResponseEntity<Reply> startNewGame(@RequestParam long playerId){
-        Reply reply = gameService.startNewGame(playerId);
+    public ResponseEntity<Reply> startNewGame(
+            @RequestParam long playerId,
+            @RequestParam(required = false) Difficulty difficulty
+    ){
+        Reply reply = gameService.startNewGame(playerId, difficulty);
         return new ResponseEntity<>(reply, HttpStatus.CREATED);
     }
 
@@ -0,0 +1,48 @@
+package com.demos.bnta.word_guesser.controllers;
+
+import com.demos.bnta.word_guesser.models.LeaderboardEntry;
+import com.demos.bnta.word_guesser.models.PlayerRanking;
+import com.demos.bnta.word_guesser.services.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/leaderboard")
+public class LeaderboardController {
+
+    private static final int MAX_TOP = 100;
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+//  Players with the most wins
+    @GetMapping
+    public ResponseEntity<List<PlayerRanking>> getTopPlayers(@RequestParam(defaultValue = "10") int top){
+        if (top < 1 || top > MAX_TOP){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        List<PlayerRanking> rankings = leaderboardService.getTopPlayers(top);
+        return new ResponseEntity<>(rankings, HttpStatus.OK);
+    }
+
+//  Fewest guesses needed to win the given word
+    @GetMapping(params = "word")
+    public ResponseEntity<List<LeaderboardEntry>> getTopForWord(
+            @RequestParam String word,
+            @RequestParam(defaultValue = "10") int top
+    ){
+        if (top < 1 || top > MAX_TOP){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        List<LeaderboardEntry> entries = leaderboardService.getTopForWord(word, top);
+        return new ResponseEntity<>(entries, HttpStatus.OK);
+    }
+
+}
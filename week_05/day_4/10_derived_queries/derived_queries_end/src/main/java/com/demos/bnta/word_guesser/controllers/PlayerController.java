@@ -1,6 +1,7 @@
 package com.demos.bnta.word_guesser.controllers;
 
 import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
 import com.demos.bnta.word_guesser.services.PlayerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,14 +19,14 @@ public class PlayerController {
     PlayerService playerService;
 
     @GetMapping
-    public ResponseEntity<List<Player>> getAllPlayers(){
-        List<Player> players = playerService.getAllPlayers();
+    public ResponseEntity<List<PlayerSummary>> getAllPlayers(){
+        List<PlayerSummary> players = playerService.getAllPlayers();
         return new ResponseEntity<>(players, HttpStatus.OK);
     }
 
     @GetMapping(value = "/{id}")
     public ResponseEntity<Player> getPlayerById(@PathVariable Long id){
-        Optional<Player> player = playerService.getPlayerById(id);
+        Optional<Player> player = playerService.getPlayerWithGamesById(id);
         if (player.isPresent()){
             return new ResponseEntity<>(player.get(), HttpStatus.OK);
         } else {
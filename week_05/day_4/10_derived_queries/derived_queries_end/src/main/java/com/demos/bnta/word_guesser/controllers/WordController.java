@@ -0,0 +1,42 @@
+package com.demos.bnta.word_guesser.controllers;
+
+import com.demos.bnta.word_guesser.models.WordStats;
+import com.demos.bnta.word_guesser.services.WordStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping(value = "/words")
+public class WordController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    WordStatsService wordStatsService;
+
+//  Most played words first
+    @GetMapping(value = "/stats")
+    public ResponseEntity<List<WordStats>> getWordStats(@RequestParam(defaultValue = "100") int limit){
+        if (limit < 1 || limit > MAX_LIMIT){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        List<WordStats> stats = wordStatsService.getMostPlayed(limit);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/stats", params = "word")
+    public ResponseEntity<WordStats> getStatsForWord(@RequestParam String word){
+        Optional<WordStats> stats = wordStatsService.getStats(word);
+        if (stats.isPresent()){
+            return new ResponseEntity<>(stats.get(), HttpStatus.OK);
+        } else {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
+}
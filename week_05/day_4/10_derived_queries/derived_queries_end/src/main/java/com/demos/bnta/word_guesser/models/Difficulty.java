@@ -0,0 +1,8 @@
+package com.demos.bnta.word_guesser.models;
+
+// Bands of roughly equal size, from the words needing the fewest guesses to the most
+public enum Difficulty {
+    EASY,
+    MEDIUM,
+    HARD
+}
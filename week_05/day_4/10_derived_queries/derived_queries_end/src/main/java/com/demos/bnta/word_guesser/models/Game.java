@@ -1,10 +1,16 @@
 package com.demos.bnta.word_guesser.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import javax.persistence.*;
 
 @Entity(name = "games")
+@Table(name = "games", indexes = {
+        @Index(name = "idx_games_player_id", columnList = "player_id"),
+        @Index(name = "idx_games_word_complete_guesses", columnList = "word, complete, guesses"),
+        @Index(name = "idx_games_complete_guesses", columnList = "complete, guesses")
+})
 public class Game {
 
     @Id
@@ -17,6 +23,12 @@ public class Game {
     @Column(name = "complete")
     private boolean complete;
 
+    // Stale saves fail instead of overwriting newer guesses; snapshots bump it too
+    @Version
+    @Column(name = "version")
+    @JsonIgnore
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "player_id")
     @JsonIgnoreProperties({"games"})
@@ -64,6 +76,14 @@ public class Game {
         this.complete = complete;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public Player getPlayer() {
         return player;
     }
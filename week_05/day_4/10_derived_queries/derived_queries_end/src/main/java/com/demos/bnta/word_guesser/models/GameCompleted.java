@@ -0,0 +1,46 @@
+package com.demos.bnta.word_guesser.models;
+
+// Published once when a game is won. Holds copies of the values so consumers on other
+// threads never touch the Game itself.
+public class GameCompleted {
+
+    private final int gameId;
+    private final String word;
+    private final long playerId;
+    private final String playerName;
+    private final int guesses;
+    private final long completedAt;
+
+    public GameCompleted(Game game) {
+        this.gameId = game.getId();
+        this.word = game.getWord();
+        this.playerId = game.getPlayer().getId();
+        this.playerName = game.getPlayer().getName();
+        this.guesses = game.getGuesses();
+        this.completedAt = System.currentTimeMillis();
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getGuesses() {
+        return guesses;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,82 @@
+package com.demos.bnta.word_guesser.models;
+
+public class GameDTO {
+
+    private int id;
+    private String word;
+    private int guesses;
+    private boolean complete;
+    private Long playerId;
+    private String playerName;
+
+    public GameDTO(int id, String word, int guesses, boolean complete, Long playerId, String playerName) {
+        this.id = id;
+        this.word = word;
+        this.guesses = guesses;
+        this.complete = complete;
+        this.playerId = playerId;
+        this.playerName = playerName;
+    }
+
+    public GameDTO(Game game) {
+        this.id = game.getId();
+        this.word = game.getWord();
+        this.guesses = game.getGuesses();
+        this.complete = game.isComplete();
+        if (game.getPlayer() != null) {
+            this.playerId = game.getPlayer().getId();
+            this.playerName = game.getPlayer().getName();
+        }
+    }
+
+    public GameDTO() {
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public int getGuesses() {
+        return guesses;
+    }
+
+    public void setGuesses(int guesses) {
+        this.guesses = guesses;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+}
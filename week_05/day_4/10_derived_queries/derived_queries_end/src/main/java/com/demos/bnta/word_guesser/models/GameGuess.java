@@ -0,0 +1,31 @@
+package com.demos.bnta.word_guesser.models;
+
+public class GameGuess {
+
+    private Integer gameId;
+    private String letter;
+
+    public GameGuess(int gameId, String letter) {
+        this.gameId = gameId;
+        this.letter = letter;
+    }
+
+    public GameGuess() {
+    }
+
+    public Integer getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Integer gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getLetter() {
+        return letter;
+    }
+
+    public void setLetter(String letter) {
+        this.letter = letter;
+    }
+}
@@ -0,0 +1,33 @@
+package com.demos.bnta.word_guesser.models;
+
+import java.util.List;
+
+public class GamePage {
+
+    private List<GameDTO> games;
+    private Integer nextCursor;
+
+    public GamePage(List<GameDTO> games, Integer nextCursor) {
+        this.games = games;
+        this.nextCursor = nextCursor;
+    }
+
+    public GamePage() {
+    }
+
+    public List<GameDTO> getGames() {
+        return games;
+    }
+
+    public void setGames(List<GameDTO> games) {
+        this.games = games;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,83 @@
+package com.demos.bnta.word_guesser.models;
+
+import java.util.ArrayList;
+
+public class GameSession {
+
+    private int gameId;
+    private WordPattern pattern;
+    private char[] maskedWord;
+    private int guessedMask;
+    private int guesses;
+    private volatile long lastAccessed;
+
+    public GameSession(int gameId, String word, int guesses) {
+        this(gameId, new WordPattern(word), guesses);
+    }
+
+    public GameSession(int gameId, WordPattern pattern, int guesses) {
+        this.gameId = gameId;
+        this.pattern = pattern;
+        this.maskedWord = pattern.newMask();
+        this.guessedMask = 0;
+        this.guesses = guesses;
+        this.lastAccessed = System.currentTimeMillis();
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public String getWord() {
+        return pattern.getWord();
+    }
+
+    public String getMaskedWord() {
+        return new String(maskedWord);
+    }
+
+    public boolean hasGuessed(int letterBit) {
+        return (this.guessedMask & letterBit) != 0;
+    }
+
+    // Records the guess and reveals the letter if it's in the word, returning whether it was
+    public boolean guess(int letterBit) {
+        this.guessedMask |= letterBit;
+        this.guesses++;
+        if (!this.pattern.contains(letterBit)) {
+            return false;
+        }
+        this.pattern.reveal(letterBit, this.maskedWord);
+        return true;
+    }
+
+    public boolean isSolved() {
+        return this.pattern.isSolvedBy(this.guessedMask);
+    }
+
+    public int getGuesses() {
+        return guesses;
+    }
+
+    public int getGuessedMask() {
+        return guessedMask;
+    }
+
+    public ArrayList<String> getGuessedLetters() {
+        ArrayList<String> letters = new ArrayList<>();
+        for (int letter = 0; letter < 26; letter++) {
+            if ((this.guessedMask & (1 << letter)) != 0) {
+                letters.add(String.valueOf((char) ('a' + letter)));
+            }
+        }
+        return letters;
+    }
+
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+
+    public void touch() {
+        this.lastAccessed = System.currentTimeMillis();
+    }
+}
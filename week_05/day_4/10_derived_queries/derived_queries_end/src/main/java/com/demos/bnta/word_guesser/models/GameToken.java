@@ -0,0 +1,42 @@
+package com.demos.bnta.word_guesser.models;
+
+// Everything needed to carry on a game, held by the client between guesses instead of the
+// server. GameTokens signs and checks it.
+public class GameToken {
+
+    private final int gameId;
+    private final long wordId;
+    private final int guessedMask;
+    private final int guesses;
+
+    public GameToken(int gameId, long wordId, int guessedMask, int guesses) {
+        this.gameId = gameId;
+        this.wordId = wordId;
+        this.guessedMask = guessedMask;
+        this.guesses = guesses;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public long getWordId() {
+        return wordId;
+    }
+
+    public int getGuessedMask() {
+        return guessedMask;
+    }
+
+    public int getGuesses() {
+        return guesses;
+    }
+
+    public boolean hasGuessed(int letterBit) {
+        return (this.guessedMask & letterBit) != 0;
+    }
+
+    public GameToken withGuess(int letterBit) {
+        return new GameToken(this.gameId, this.wordId, this.guessedMask | letterBit, this.guesses + 1);
+    }
+}
@@ -3,6 +3,7 @@ package com.demos.bnta.word_guesser.models;
 public class Guess {
 
     private String letter;
+    private String token;
 
     public Guess(String letter) {
         this.letter = letter;
@@ -19,4 +20,12 @@ public class Guess {
         this.letter = letter;
     }
 
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
 }
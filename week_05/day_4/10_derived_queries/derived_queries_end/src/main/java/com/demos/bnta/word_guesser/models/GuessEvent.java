@@ -0,0 +1,79 @@
+package com.demos.bnta.word_guesser.models;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Entity(name = "guess_events")
+@Table(name = "guess_events", indexes = {
+        @Index(name = "idx_guess_events_game_id", columnList = "game_id, id"),
+        @Index(name = "idx_guess_events_created_at", columnList = "created_at")
+})
+public class GuessEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "game_id")
+    private int gameId;
+
+    @Column(name = "letter")
+    private String letter;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome")
+    private GuessOutcome outcome;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    public GuessEvent(int gameId, String letter, GuessOutcome outcome) {
+        this.gameId = gameId;
+        this.letter = letter;
+        this.outcome = outcome;
+        this.createdAt = Instant.now();
+    }
+
+    public GuessEvent() {
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(int gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getLetter() {
+        return letter;
+    }
+
+    public void setLetter(String letter) {
+        this.letter = letter;
+    }
+
+    public GuessOutcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(GuessOutcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
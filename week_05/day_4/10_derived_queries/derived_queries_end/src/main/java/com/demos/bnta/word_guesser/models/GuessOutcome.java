@@ -0,0 +1,15 @@
+package com.demos.bnta.word_guesser.models;
+
+public enum GuessOutcome {
+    INVALID_LETTER,
+    ALREADY_FINISHED,
+    ALREADY_GUESSED,
+    MISS,
+    HIT,
+    WIN;
+
+    // Only new letters count towards a game's guesses
+    public boolean isCounted() {
+        return this == MISS || this == HIT || this == WIN;
+    }
+}
@@ -0,0 +1,77 @@
+package com.demos.bnta.word_guesser.models;
+
+import javax.persistence.*;
+
+@Entity(name = "leaderboard_entries")
+@Table(name = "leaderboard_entries", indexes = {
+        @Index(name = "idx_leaderboard_entries_word_guesses", columnList = "word, guesses")
+})
+public class LeaderboardEntry {
+
+    @Id
+    @Column(name = "game_id")
+    private int gameId;
+
+    @Column(name = "word")
+    private String word;
+
+    @Column(name = "player_id")
+    private long playerId;
+
+    @Column(name = "player_name")
+    private String playerName;
+
+    @Column(name = "guesses")
+    private int guesses;
+
+    public LeaderboardEntry(int gameId, String word, long playerId, String playerName, int guesses) {
+        this.gameId = gameId;
+        this.word = word;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.guesses = guesses;
+    }
+
+    public LeaderboardEntry() {
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(int gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(long playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public int getGuesses() {
+        return guesses;
+    }
+
+    public void setGuesses(int guesses) {
+        this.guesses = guesses;
+    }
+}
@@ -0,0 +1,41 @@
+package com.demos.bnta.word_guesser.models;
+
+public class PlayerRanking {
+
+    private long playerId;
+    private String playerName;
+    private long wins;
+
+    public PlayerRanking(long playerId, String playerName, long wins) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.wins = wins;
+    }
+
+    public PlayerRanking() {
+    }
+
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(long playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public void setWins(long wins) {
+        this.wins = wins;
+    }
+}
@@ -0,0 +1,51 @@
+package com.demos.bnta.word_guesser.models;
+
+public class PlayerSummary {
+
+    private long id;
+    private String name;
+    private long gameCount;
+    private long wordCount;
+
+    public PlayerSummary(long id, String name, long gameCount, long wordCount) {
+        this.id = id;
+        this.name = name;
+        this.gameCount = gameCount;
+        this.wordCount = wordCount;
+    }
+
+    public PlayerSummary() {
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    public void setGameCount(long gameCount) {
+        this.gameCount = gameCount;
+    }
+
+    public long getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(long wordCount) {
+        this.wordCount = wordCount;
+    }
+}
@@ -1,11 +1,17 @@
 package com.demos.bnta.word_guesser.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class Reply {
 
     private boolean correct;
     private String wordState;
     private String message;
 
+    // Only set when game tokens are enabled
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String token;
+
     public Reply(boolean correct, String wordState, String message) {
         this.correct = correct;
         this.wordState = wordState;
@@ -38,4 +44,12 @@ public class Reply {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
 }
@@ -9,8 +9,10 @@ import java.util.List;
 @Entity(name = "words")
 public class Word {
 
+    // Sequence ids (handed out in blocks) rather than IDENTITY, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "word_sequence")
+    @SequenceGenerator(name = "word_sequence", sequenceName = "word_sequence", allocationSize = 500)
     private long id;
 
     @Column(name = "word")
@@ -0,0 +1,97 @@
+package com.demos.bnta.word_guesser.models;
+
+// Precomputed letter layout of a word. Letters a-z are represented as single bits of an int
+// (bit 0 = 'a', bit 25 = 'z'), so the set of letters in a word and the set of letters guessed
+// so far can be compared with a couple of bitwise operations.
+public class WordPattern {
+
+    private final String word;
+    private final int letterMask;
+    private final int[][] positions;
+
+    public WordPattern(String word) {
+        this.word = word;
+        int[] counts = new int[26];
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int index = word.charAt(i) - 'a';
+            if (index >= 0 && index < 26) {
+                counts[index]++;
+                mask |= 1 << index;
+            }
+        }
+        this.letterMask = mask;
+        this.positions = new int[26][];
+        for (int letter = 0; letter < 26; letter++) {
+            this.positions[letter] = new int[counts[letter]];
+            counts[letter] = 0;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            int index = word.charAt(i) - 'a';
+            if (index >= 0 && index < 26) {
+                this.positions[index][counts[index]++] = i;
+            }
+        }
+    }
+
+    // Returns the bit for a single letter guess, or 0 if it isn't a letter from a-z
+    public static int letterBit(String letter) {
+        if (letter == null || letter.length() != 1) {
+            return 0;
+        }
+        int index = Character.toLowerCase(letter.charAt(0)) - 'a';
+        if (index < 0 || index >= 26) {
+            return 0;
+        }
+        return 1 << index;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getLetterMask() {
+        return letterMask;
+    }
+
+    public boolean contains(int letterBit) {
+        return (this.letterMask & letterBit) != 0;
+    }
+
+    public boolean isSolvedBy(int guessedMask) {
+        return (this.letterMask & ~guessedMask) == 0;
+    }
+
+    // Starting state of the masked word: letters hidden, anything else (e.g. hyphens) shown
+    public char[] newMask() {
+        char[] masked = this.word.toCharArray();
+        for (int letter = 0; letter < 26; letter++) {
+            for (int position : this.positions[letter]) {
+                masked[position] = '*';
+            }
+        }
+        return masked;
+    }
+
+    // Masked word once the given letters have been guessed
+    public String mask(int guessedMask) {
+        char[] masked = newMask();
+        int revealed = guessedMask & this.letterMask;
+        while (revealed != 0) {
+            int letterBit = Integer.lowestOneBit(revealed);
+            reveal(letterBit, masked);
+            revealed &= ~letterBit;
+        }
+        return new String(masked);
+    }
+
+    // Writes every occurrence of the guessed letter into the masked word
+    public void reveal(int letterBit, char[] masked) {
+        int letter = Integer.numberOfTrailingZeros(letterBit);
+        char character = (char) ('a' + letter);
+        for (int position : this.positions[letter]) {
+            masked[position] = character;
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.demos.bnta.word_guesser.models;
+
+import javax.persistence.*;
+
+@Entity(name = "word_stats")
+@Table(name = "word_stats", indexes = {
+        @Index(name = "idx_word_stats_plays", columnList = "plays")
+})
+public class WordStats {
+
+    @Id
+    @Column(name = "word")
+    private String word;
+
+    @Column(name = "plays")
+    private long plays;
+
+    @Column(name = "wins")
+    private long wins;
+
+    @Column(name = "total_winning_guesses")
+    private long totalWinningGuesses;
+
+    public WordStats(String word, long plays, long wins, long totalWinningGuesses) {
+        this.word = word;
+        this.plays = plays;
+        this.wins = wins;
+        this.totalWinningGuesses = totalWinningGuesses;
+    }
+
+    public WordStats() {
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public long getPlays() {
+        return plays;
+    }
+
+    public void setPlays(long plays) {
+        this.plays = plays;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public void setWins(long wins) {
+        this.wins = wins;
+    }
+
+    public long getTotalWinningGuesses() {
+        return totalWinningGuesses;
+    }
+
+    public void setTotalWinningGuesses(long totalWinningGuesses) {
+        this.totalWinningGuesses = totalWinningGuesses;
+    }
+
+    public double getWinRate() {
+        if (plays == 0) {
+            return 0;
+        }
+        return (double) wins / plays;
+    }
+
+    public double getMeanGuesses() {
+        if (wins == 0) {
+            return 0;
+        }
+        return (double) totalWinningGuesses / wins;
+    }
+}
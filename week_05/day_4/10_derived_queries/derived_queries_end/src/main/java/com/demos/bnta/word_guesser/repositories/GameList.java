@@ -1,26 +1,198 @@
 package com.demos.bnta.word_guesser.repositories;
 
 import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameDTO;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Keeps games in memory only, for load tests and throwaway servers. Games are held in id
+// order so keyset pages and streams come straight off the map, with extra indexes by player
+// and by word. The stored Game objects are handed out directly, so changes made while
+// holding the game's lock are seen by everyone without a save. Players are still in the
+// database, but anything about their games is answered from here since the games table is empty.
 @Repository
-public class GameList {
+@Profile("in-memory")
+public class GameList implements GameStore {
 
-    private List<Game> games;
+    private final ConcurrentSkipListMap<Integer, Game> games = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Set<Integer>> idsByPlayer = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Integer>> idsByWord = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    @Autowired
+    PlayerRepository playerRepository;
 
     public GameList(){
-        this.games = new ArrayList<>();
     }
 
-    public void addGame(Game game){
-        this.games.add(game);
+    @Override
+    public Optional<Game> findById(int id) {
+        return Optional.ofNullable(this.games.get(id));
+    }
+
+    @Override
+    public List<Game> findAllById(Iterable<Integer> ids) {
+        List<Game> found = new ArrayList<>();
+        for (Integer id : ids) {
+            Game game = this.games.get(id);
+            if (game != null){
+                found.add(game);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Game save(Game game) {
+        if (game.getId() == 0){
+            game.setId(this.lastId.incrementAndGet());
+        } else {
+            // Keep ids handed out later above any id that was set by hand
+            this.lastId.accumulateAndGet(game.getId(), Math::max);
+        }
+        Game previous = this.games.put(game.getId(), game);
+        if (previous != null && previous != game){
+            removeFromIndexes(previous);
+        }
+        addToIndexes(game);
+        return game;
+    }
+
+    @Override
+    public List<Game> saveAll(Iterable<Game> games) {
+        List<Game> saved = new ArrayList<>();
+        for (Game game : games) {
+            saved.add(save(game));
+        }
+        return saved;
+    }
+
+    @Override
+    public List<GameDTO> findAllDTOs() {
+        return this.games.values()
+                .stream()
+                .map(GameDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<GameDTO> findDTOById(int id) {
+        return findById(id).map(GameDTO::new);
+    }
+
+    @Override
+    public List<GameDTO> findPageAfter(int after, int limit) {
+        ConcurrentNavigableMap<Integer, Game> page = this.games.tailMap(after, false);
+        return page.values()
+                .stream()
+                .limit(limit)
+                .map(GameDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<GameDTO> streamAll() {
+        return this.games.values().stream().map(GameDTO::new);
+    }
+
+    @Override
+    public List<Game> findByPlayerId(long id) {
+        return findAllById(indexed(this.idsByPlayer, id));
+    }
+
+    @Override
+    public List<Game> findByWord(String word) {
+        return findAllById(indexed(this.idsByWord, word));
+    }
+
+    @Override
+    public List<Game> findByCompleteTrue() {
+        return this.games.values()
+                .stream()
+                .filter(Game::isComplete)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Game> findCompleted(String word, Integer fewerGuessesThan) {
+        Collection<Game> candidates;
+        if (word != null){
+            candidates = findByWord(word);
+        } else {
+            candidates = this.games.values();
+        }
+        return candidates.stream()
+                .filter(Game::isComplete)
+                .filter(game -> fewerGuessesThan == null || game.getGuesses() < fewerGuessesThan)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<PlayerSummary> findPlayerSummaries() {
+        // The query's game counts come from the games table, so they're replaced with ours
+        List<PlayerSummary> summaries = playerRepository.findAllSummaries();
+        for (PlayerSummary summary : summaries) {
+            summary.setGameCount(indexed(this.idsByPlayer, summary.getId()).size());
+        }
+        return summaries;
+    }
+
+    @Override
+    public Optional<Player> findPlayerWithGames(long playerId) {
+        // games is the inverse side of the relationship, so setting it is never written back
+        return playerRepository.findById(playerId).map(player -> {
+            List<Game> games = findByPlayerId(playerId);
+            games.sort(Comparator.comparingInt(Game::getId));
+            player.setGames(games);
+            return player;
+        });
+    }
+
+    public int size(){
+        return this.games.size();
+    }
+
+    private void addToIndexes(Game game){
+        if (game.getPlayer() != null){
+            this.idsByPlayer
+                    .computeIfAbsent(game.getPlayer().getId(), key -> ConcurrentHashMap.newKeySet())
+                    .add(game.getId());
+        }
+        this.idsByWord
+                .computeIfAbsent(game.getWord(), key -> ConcurrentHashMap.newKeySet())
+                .add(game.getId());
+    }
+
+    private void removeFromIndexes(Game game){
+        if (game.getPlayer() != null){
+            indexed(this.idsByPlayer, game.getPlayer().getId()).remove(game.getId());
+        }
+        indexed(this.idsByWord, game.getWord()).remove(game.getId());
     }
 
-    public Game getGameById(int id){
-        return this.games.get(id - 1);
+    private static <K> Set<Integer> indexed(Map<K, Set<Integer>> index, K key){
+        if (key == null){
+            return Collections.emptySet();
+        }
+        return index.getOrDefault(key, Collections.emptySet());
     }
 
 }
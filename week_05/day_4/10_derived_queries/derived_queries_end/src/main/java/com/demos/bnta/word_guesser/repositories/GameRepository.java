@@ -1,30 +1,57 @@
 package com.demos.bnta.word_guesser.repositories;
 
 import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface GameRepository extends JpaRepository<Game, Integer> {
+public interface GameRepository extends JpaRepository<Game, Integer>, JpaSpecificationExecutor<Game> {
 
+    String DTO_SELECT = "SELECT new com.demos.bnta.word_guesser.models.GameDTO("
+            + "g.id, g.word, g.guesses, g.complete, p.id, p.name"
+            + ") FROM games g LEFT JOIN g.player p ";
 
-    @Query("SELECT g FROM games g "
-            + "WHERE g.complete = TRUE "
-            + "AND (:word IS NULL OR g.word = :word) "
-            + "AND (:guesses IS NULL OR g.guesses < :guesses)"
-    )
-    List<Game> findByCompleteTrueAndOptionalWordAndOptionalGuessesLessThan(
-            @Param("word") String word,
-            @Param("guesses") Integer guesses
-    );
+    @Query(DTO_SELECT + "ORDER BY g.id")
+    List<GameDTO> findAllDTOs();
+
+    @Query(DTO_SELECT + "WHERE g.id = :id")
+    Optional<GameDTO> findDTOById(@Param("id") int id);
+
+//  Loads each game's player in the same query rather than one query per game
+    @Override
+    @EntityGraph(attributePaths = {"player"})
+    List<Game> findAll(Specification<Game> specification);
 
-    List<Game> findByPlayerId(long id);
+//  Compares the foreign key directly; the derived query joined players and filtered on
+//  players.id, which left games without an index to use
+    @Query("SELECT g FROM games g WHERE g.player.id = :id")
+    List<Game> findByPlayerId(@Param("id") long id);
 
     List<Game> findByWord(String word);
 
     List<Game> findByCompleteTrue();
 
+//  Keyset pagination: next page starts after the last id seen, so no rows are skipped over
+    @Query(DTO_SELECT
+            + "WHERE g.id > :after "
+            + "ORDER BY g.id"
+    )
+    List<GameDTO> findPageAfter(@Param("after") int after, Pageable pageable);
+
+//  Must be consumed inside a transaction, rows are fetched from a cursor in chunks
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + "ORDER BY g.id")
+    Stream<GameDTO> streamAll();
+
 }
@@ -0,0 +1,20 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.Game;
+import org.springframework.data.jpa.domain.Specification;
+
+public class GameSpecifications {
+
+    public static Specification<Game> isComplete(){
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.get("complete"));
+    }
+
+    public static Specification<Game> hasWord(String word){
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("word"), word);
+    }
+
+    public static Specification<Game> hasFewerGuessesThan(int guesses){
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThan(root.get("guesses"), guesses);
+    }
+
+}
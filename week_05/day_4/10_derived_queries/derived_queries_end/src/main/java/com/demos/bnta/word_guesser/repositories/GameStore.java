@@ -0,0 +1,48 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameDTO;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Everything the services need from wherever games are kept. Backed by GameRepository by
+// default, or by GameList when the in-memory profile is active.
+public interface GameStore {
+
+    Optional<Game> findById(int id);
+
+    List<Game> findAllById(Iterable<Integer> ids);
+
+    Game save(Game game);
+
+    List<Game> saveAll(Iterable<Game> games);
+
+    List<GameDTO> findAllDTOs();
+
+    Optional<GameDTO> findDTOById(int id);
+
+    List<GameDTO> findPageAfter(int after, int limit);
+
+//  Must be closed after use; the JPA version also has to be consumed inside a transaction
+    Stream<GameDTO> streamAll();
+
+    List<Game> findByPlayerId(long id);
+
+    List<Game> findByWord(String word);
+
+    List<Game> findByCompleteTrue();
+
+//  Completed games, optionally only for one word and/or with fewer than the given guesses
+    List<Game> findCompleted(String word, Integer fewerGuessesThan);
+
+//  Every player with how many games they've played, which has to be counted wherever the games are
+    List<PlayerSummary> findPlayerSummaries();
+
+//  The player with their games filled in
+    Optional<Player> findPlayerWithGames(long playerId);
+
+}
@@ -0,0 +1,12 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.GuessEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface GuessEventRepository extends JpaRepository<GuessEvent, Long> {
+
+    List<GuessEvent> findByGameIdOrderByIdAsc(int gameId);
+
+}
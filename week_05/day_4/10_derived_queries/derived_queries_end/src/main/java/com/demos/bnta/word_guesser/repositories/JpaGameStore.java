@@ -0,0 +1,105 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameDTO;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("!in-memory")
+public class JpaGameStore implements GameStore {
+
+    @Autowired
+    GameRepository gameRepository;
+
+    @Autowired
+    PlayerRepository playerRepository;
+
+    @Override
+    public Optional<Game> findById(int id) {
+        return gameRepository.findById(id);
+    }
+
+    @Override
+    public List<Game> findAllById(Iterable<Integer> ids) {
+        return gameRepository.findAllById(ids);
+    }
+
+    @Override
+    public Game save(Game game) {
+        return gameRepository.save(game);
+    }
+
+    @Override
+    public List<Game> saveAll(Iterable<Game> games) {
+        return gameRepository.saveAll(games);
+    }
+
+    @Override
+    public List<GameDTO> findAllDTOs() {
+        return gameRepository.findAllDTOs();
+    }
+
+    @Override
+    public Optional<GameDTO> findDTOById(int id) {
+        return gameRepository.findDTOById(id);
+    }
+
+    @Override
+    public List<GameDTO> findPageAfter(int after, int limit) {
+        return gameRepository.findPageAfter(after, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public Stream<GameDTO> streamAll() {
+        return gameRepository.streamAll();
+    }
+
+    @Override
+    public List<Game> findByPlayerId(long id) {
+        return gameRepository.findByPlayerId(id);
+    }
+
+    @Override
+    public List<Game> findByWord(String word) {
+        return gameRepository.findByWord(word);
+    }
+
+    @Override
+    public List<Game> findByCompleteTrue() {
+        return gameRepository.findByCompleteTrue();
+    }
+
+    @Override
+    public List<Game> findCompleted(String word, Integer fewerGuessesThan) {
+        // Only add the filters that were asked for, so the query can use the games indexes
+        Specification<Game> specification = Specification.where(GameSpecifications.isComplete());
+        if (word != null){
+            specification = specification.and(GameSpecifications.hasWord(word));
+        }
+        if (fewerGuessesThan != null){
+            specification = specification.and(GameSpecifications.hasFewerGuessesThan(fewerGuessesThan));
+        }
+        return gameRepository.findAll(specification);
+    }
+
+    @Override
+    public List<PlayerSummary> findPlayerSummaries() {
+        return playerRepository.findAllSummaries();
+    }
+
+    @Override
+    public Optional<Player> findPlayerWithGames(long playerId) {
+        return playerRepository.findWithGamesById(playerId);
+    }
+
+}
@@ -1,7 +1,32 @@
 package com.demos.bnta.word_guesser.repositories;
 
 import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.demos.bnta.word_guesser.models.PlayerSummary("
+            + "p.id, p.name, "
+            + "(SELECT COUNT(g) FROM games g WHERE g.player = p), "
+            + "(SELECT COUNT(w) FROM players p2 JOIN p2.words w WHERE p2 = p)"
+            + ") FROM players p ";
+
+//  Counts come from subqueries, so the whole listing is one SQL statement
+    @Query(SUMMARY_SELECT + "ORDER BY p.id")
+    List<PlayerSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :id")
+    Optional<PlayerSummary> findSummaryById(@Param("id") long id);
+
+//  Fetches the player's games in the same query as the player
+    @EntityGraph(attributePaths = {"games"})
+    Optional<Player> findWithGamesById(long id);
+
 }
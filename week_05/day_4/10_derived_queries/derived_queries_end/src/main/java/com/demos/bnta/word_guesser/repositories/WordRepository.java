@@ -2,6 +2,28 @@ package com.demos.bnta.word_guesser.repositories;
 
 import com.demos.bnta.word_guesser.models.Word;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface WordRepository extends JpaRepository<Word, Long> {
+
+//  Appends a single row to the join table without loading Word.players
+    @Transactional
+    @Modifying
+    @Query(
+            value = "INSERT INTO players_words (word_id, player_id) VALUES (:wordId, :playerId)",
+            nativeQuery = true
+    )
+    void addPlayerToWord(@Param("wordId") long wordId, @Param("playerId") long playerId);
+
+    @Query(
+            value = "SELECT word_id FROM players_words WHERE player_id = :playerId",
+            nativeQuery = true
+    )
+    List<Long> findWordIdsByPlayerId(@Param("playerId") long playerId);
+
 }
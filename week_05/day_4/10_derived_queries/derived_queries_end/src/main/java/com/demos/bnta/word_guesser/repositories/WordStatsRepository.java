@@ -0,0 +1,7 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.WordStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WordStatsRepository extends JpaRepository<WordStats, String> {
+}
@@ -1,22 +1,40 @@
 package com.demos.bnta.word_guesser.services;
 
+import com.demos.bnta.word_guesser.components.CompletionPipeline;
+import com.demos.bnta.word_guesser.components.GameLocks;
+import com.demos.bnta.word_guesser.components.GameSessionStore;
+import com.demos.bnta.word_guesser.components.GameTokens;
+import com.demos.bnta.word_guesser.components.GuessEventLog;
+import com.demos.bnta.word_guesser.components.WordSelector;
 import com.demos.bnta.word_guesser.models.*;
-import com.demos.bnta.word_guesser.repositories.GameRepository;
-import org.apache.logging.log4j.util.Strings;
+import com.demos.bnta.word_guesser.repositories.GameStore;
+import com.demos.bnta.word_guesser.repositories.GuessEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class GameService {
 
 
     @Autowired
-    GameRepository gameRepository;
+    GameStore gameStore;
 
     @Autowired
     PlayerService playerService;
@@ -24,133 +42,381 @@ public class GameService {
     @Autowired
     WordService wordService;
 
-    private String currentWord;
-    private ArrayList<String> guessedLetters = new ArrayList<>();
+    @Autowired
+    GameSessionStore gameSessionStore;
+
+    @Autowired
+    GameLocks gameLocks;
+
+    @Autowired
+    GuessEventLog guessEventLog;
+
+    @Autowired
+    GuessEventRepository guessEventRepository;
+
+    @Autowired
+    CompletionPipeline completionPipeline;
+
+    @Autowired
+    WordStatsService wordStatsService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Only there when word_guesser.tokens.enabled=true
+    @Autowired(required = false)
+    GameTokens gameTokens;
 
     public GameService() {
     }
 
+    public ArrayList<String> getGuessedLetters(int id) {
+        Optional<Game> game = gameStore.findById(id);
+        if (game.isEmpty()){
+            return new ArrayList<>();
+        }
+        // A session that was evicted, or is from before a restart, is rebuilt from the guess log
+        GameSession session = gameSessionStore.getSession(id, () -> replaySession(game.get()));
+        return session.getGuessedLetters();
+    }
+
+    public Reply processGuess(Guess guess, int id){
+
+        Timer.Sample sample = Timer.start(meterRegistry);
 
-    public String getCurrentWord() {
-        return currentWord;
+        // Find the correct game
+        Game game = gameStore.findById(id).get();
+
+        try {
+            // Guesses on the same game are handled one at a time, other games carry on in parallel
+            GuessResult result;
+            Lock lock = gameLocks.lockFor(id);
+            lock.lock();
+            try {
+                result = evaluateGuess(game, guess.getLetter());
+                countOutcome(result.outcome);
+
+                // Guesses are appended to the event log, the games row is updated later from it
+                if (result.event != null){
+                    guessEventLog.append(result.event);
+                }
+            } finally {
+                lock.unlock();
+            }
+            // Published once the lock is released, so a slow consumer never holds up the game
+            if (result.completed != null){
+                completionPipeline.publish(result.completed);
+            }
+            return result.reply;
+        } finally {
+            sample.stop(meterRegistry.timer("word_guesser.guess.requests"));
+        }
     }
 
-    public void setCurrentWord(String currentWord) {
-        this.currentWord = currentWord;
+    // Evaluates every guess with one read for all the games and one batch insert of the
+    // resulting events. Each game's guesses are checked in order under that game's lock alone,
+    // so single guesses on other games in the batch only ever wait for their own game's guesses.
+    public List<Reply> processGuesses(List<GameGuess> guesses){
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Set<Integer> gameIds = new HashSet<>();
+        for (GameGuess guess : guesses) {
+            gameIds.add(guess.getGameId());
+        }
+        Map<Integer, Game> games = new HashMap<>();
+        for (Game game : gameStore.findAllById(gameIds)) {
+            games.put(game.getId(), game);
+        }
+
+        // Where each game's guesses are in the request, so replies come back in request order
+        Reply[] replies = new Reply[guesses.size()];
+        Map<Integer, List<Integer>> positionsByGame = new LinkedHashMap<>();
+        for (int position = 0; position < guesses.size(); position++) {
+            int gameId = guesses.get(position).getGameId();
+            if (games.containsKey(gameId)){
+                positionsByGame.computeIfAbsent(gameId, id -> new ArrayList<>()).add(position);
+            } else {
+                replies[position] = new Reply(false, null, String.format("No game with id %d", gameId));
+            }
+        }
+
+        List<GuessEvent> events = new ArrayList<>();
+        List<GameCompleted> completions = new ArrayList<>();
+        for (Map.Entry<Integer, List<Integer>> gameGuesses : positionsByGame.entrySet()) {
+            Game game = games.get(gameGuesses.getKey());
+            Lock lock = gameLocks.lockFor(game.getId());
+            lock.lock();
+            try {
+                for (int position : gameGuesses.getValue()) {
+                    GuessResult result = evaluateGuess(game, guesses.get(position).getLetter());
+                    countOutcome(result.outcome);
+                    if (result.event != null){
+                        events.add(result.event);
+                    }
+                    if (result.completed != null){
+                        completions.add(result.completed);
+                    }
+                    replies[position] = result.reply;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Inserted and published with no locks held. Replaying a game only ORs its letters
+        // together and counts its counted events, so the insert order across games doesn't matter.
+        guessEventLog.appendAll(events);
+        for (GameCompleted completed : completions) {
+            completionPipeline.publish(completed);
+        }
+        sample.stop(meterRegistry.timer("word_guesser.guess.batches"));
+        return Arrays.asList(replies);
     }
 
-    public ArrayList<String> getGuessedLetters() {
-        return guessedLetters;
+    // Guesses per second and the win rate come from this counter's rate, tagged by outcome
+    private void countOutcome(GuessOutcome outcome){
+        meterRegistry.counter("word_guesser.guesses", "outcome", outcome.name()).increment();
     }
 
-    public void setGuessedLetters(ArrayList<String> guessedLetters) {
-        this.guessedLetters = guessedLetters;
+    // Stateless guess: the game's state comes from the signed token, so nothing is read from
+    // the database and no session is kept. Only a win is written back. Empty if the token
+    // isn't valid for this game, tokens are turned off, or the token's word has since been
+    // removed from the catalog.
+    public Optional<Reply> processTokenGuess(String encodedToken, int id, String letter){
+        if (gameTokens == null){
+            return Optional.empty();
+        }
+        Optional<GameToken> verified = gameTokens.verify(encodedToken);
+        if (verified.isEmpty() || verified.get().getGameId() != id){
+            return Optional.empty();
+        }
+        Optional<Word> catalogWord = wordService.getCatalogWord(verified.get().getWordId());
+        if (catalogWord.isEmpty()){
+            return Optional.empty();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        GameToken token = verified.get();
+        Word word = catalogWord.get();
+        WordPattern pattern = new WordPattern(word.getWord());
+
+        GuessOutcome outcome;
+        Reply reply;
+        int letterBit = WordPattern.letterBit(letter);
+        if (pattern.isSolvedBy(token.getGuessedMask())){
+            outcome = GuessOutcome.ALREADY_FINISHED;
+            reply = new Reply(false, word.getWord(), String.format("Already finished game %d", id));
+        } else if (letterBit == 0){
+            outcome = GuessOutcome.INVALID_LETTER;
+            reply = new Reply(false, pattern.mask(token.getGuessedMask()), String.format("%s is not a valid letter", letter));
+        } else if (token.hasGuessed(letterBit)){
+            outcome = GuessOutcome.ALREADY_GUESSED;
+            reply = new Reply(false, pattern.mask(token.getGuessedMask()), String.format("Already guessed %s", letter));
+        } else {
+            token = token.withGuess(letterBit);
+            String maskedWord = pattern.mask(token.getGuessedMask());
+            if (!pattern.contains(letterBit)){
+                outcome = GuessOutcome.MISS;
+                reply = new Reply(false, maskedWord, String.format("%s is not in the word", letter));
+            } else if (pattern.isSolvedBy(token.getGuessedMask())){
+                outcome = GuessOutcome.WIN;
+                finishTokenGame(token);
+                reply = new Reply(true, maskedWord, "You win!");
+            } else {
+                outcome = GuessOutcome.HIT;
+                reply = new Reply(true, maskedWord, String.format("%s is in the word", letter));
+            }
+        }
+        reply.setToken(gameTokens.issue(token));
+        countOutcome(outcome);
+        sample.stop(meterRegistry.timer("word_guesser.guess.token_requests"));
+        return Optional.of(reply);
     }
 
-    public Reply processGuess(Guess guess, int id){
+    // The same winning token can be sent more than once, so only the first win is recorded
+    private void finishTokenGame(GameToken token){
+        GameCompleted completed;
+        Lock lock = gameLocks.lockFor(token.getGameId());
+        lock.lock();
+        try {
+            Game game = gameStore.findById(token.getGameId()).get();
+            if (game.isComplete()){
+                return;
+            }
+            game.setGuesses(token.getGuesses());
+            game.setComplete(true);
+            gameStore.save(game);
+            completed = new GameCompleted(game);
+        } finally {
+            lock.unlock();
+        }
+        completionPipeline.publish(completed);
+    }
 
-        // Find the correct game
-        Game game = gameRepository.findById(id).get();
+    public List<GuessEvent> getGuessEvents(int id){
+        return guessEventRepository.findByGameIdOrderByIdAsc(id);
+    }
+
+    // Rebuilds a game's session by replaying its guess events in order
+    private GameSession replaySession(Game game){
+        List<GuessEvent> events = guessEventRepository.findByGameIdOrderByIdAsc(game.getId());
+        if (events.isEmpty()){
+            return new GameSession(game.getId(), game.getWord(), game.getGuesses());
+        }
+        GameSession session = new GameSession(game.getId(), game.getWord(), 0);
+        for (GuessEvent event : events) {
+            if (event.getOutcome().isCounted()){
+                session.guess(WordPattern.letterBit(event.getLetter()));
+            }
+        }
+        return session;
+    }
+
+    // Checks a guess against the game's session and updates the game, without saving it.
+    // Callers must hold the game's lock, and publish any win once they've released it.
+    private GuessResult evaluateGuess(Game game, String letter){
 
         // Check if game is already complete
         if (game.isComplete()){
-            return new Reply(
+            return new GuessResult(game, letter, GuessOutcome.ALREADY_FINISHED, new Reply(
                     false,
                     game.getWord(),
                     String.format("Already finished game %d", game.getId())
-            );
+            ));
         }
 
-        // Check if letter has been guessed already
-        if (this.guessedLetters.contains(guess.getLetter())){
-            return new Reply(false, this.currentWord, String.format("Already guessed %s", guess.getLetter()));
-        }
+        GameSession session = gameSessionStore.getSession(game.getId(), () -> replaySession(game));
 
-        // Only increment guess count if a new letter is chosen
-        incrementGuesses(game);
+        // Reject anything that isn't a single letter
+        int letterBit = WordPattern.letterBit(letter);
+        if (letterBit == 0){
+            return new GuessResult(game, letter, GuessOutcome.INVALID_LETTER, new Reply(
+                    false,
+                    session.getMaskedWord(),
+                    String.format("%s is not a valid letter", letter)
+            ));
+        }
 
-        // Check for incorrect guess
-        if (!game.getWord().contains(guess.getLetter())){
-            this.guessedLetters.add(guess.getLetter());
-            return new Reply(
+        // The games row is only a snapshot, so it can lag behind the session
+        if (session.isSolved()){
+            return new GuessResult(game, letter, GuessOutcome.ALREADY_FINISHED, new Reply(
                     false,
-                    this.currentWord,
-                    String.format("%s is not in the word", guess.getLetter())
-            );
+                    session.getWord(),
+                    String.format("Already finished game %d", game.getId())
+            ));
         }
 
-        // Add letter to previous guesses
-        this.guessedLetters.add(guess.getLetter());
+        // Check if letter has been guessed already
+        if (session.hasGuessed(letterBit)){
+            return new GuessResult(game, letter, GuessOutcome.ALREADY_GUESSED, new Reply(
+                    false,
+                    session.getMaskedWord(),
+                    String.format("Already guessed %s", letter)
+            ));
+        }
 
+        // Record the guess, revealing the letter wherever it appears in the word
+        boolean inWord = session.guess(letterBit);
 
-        // Handle correct guess
-        String runningResult = game.getWord();
+        // Only increment guess count if a new letter is chosen
+        game.setGuesses(session.getGuesses());
 
-        for (Character letter : game.getWord().toCharArray()) {
-            if (!this.guessedLetters.contains(letter.toString())){
-                runningResult = runningResult.replace(letter, '*');
-            }
+        if (!inWord){
+            return new GuessResult(game, letter, GuessOutcome.MISS, new Reply(
+                    false,
+                    session.getMaskedWord(),
+                    String.format("%s is not in the word", letter)
+            ));
         }
 
-        setCurrentWord(runningResult);
-
         // Check for win
-        if (checkWinCondition(game)){
+        if (checkWinCondition(session)){
             game.setComplete(true);
-            gameRepository.save(game);
-            return new Reply(true, this.currentWord, "You win!");
+            return new GuessResult(game, letter, GuessOutcome.WIN, new Reply(true, session.getMaskedWord(), "You win!"));
         } else {
-            return new Reply(true, this.currentWord,
-                    String.format("%s is in the word", guess.getLetter()));
+            return new GuessResult(game, letter, GuessOutcome.HIT, new Reply(
+                    true,
+                    session.getMaskedWord(),
+                    String.format("%s is in the word", letter)
+            ));
         }
     }
 
-    private boolean checkWinCondition(Game game){
-        return game.getWord().equals(this.currentWord);
+    private boolean checkWinCondition(GameSession session){
+        return session.isSolved();
     }
 
-    private void incrementGuesses(Game game){
-        game.setGuesses(game.getGuesses() + 1);
-        gameRepository.save(game);
+    public Reply startNewGame(long playerId){
+        return startNewGame(playerId, null);
     }
 
-    public Reply startNewGame(long playerId){
-        Word targetWord = wordService.getRandomWord();
+    public Reply startNewGame(long playerId, Difficulty difficulty){
+        Timer.Sample sample = Timer.start(meterRegistry);
         Player player = playerService.getPlayerById(playerId).get();
-        targetWord.addPlayer(player);
-        wordService.updateWord(targetWord);
+        WordSelector.Selection selection = wordService.drawWordForPlayer(player, difficulty);
+        Word targetWord = selection.getWord();
         Game game = new Game(targetWord.getWord(), player);
-        this.currentWord = Strings.repeat("*", targetWord.getWord().length());
-        this.guessedLetters = new ArrayList<>();
-        gameRepository.save(game);
-        return new Reply(
-                false,
-                this.currentWord,
-                String.format("Started new game with id %d", game.getId())
-        );
+        gameStore.save(game);
+        wordStatsService.recordPlay(game.getWord());
+        String message = String.format("Started new game with id %d", game.getId());
+        if (selection.isFallback()){
+            message = String.format(
+                    "Started new game with id %d (there are no %s words, so this one is %s)",
+                    game.getId(), difficulty, selection.getDifficulty()
+            );
+        }
+        Reply reply;
+        if (gameTokens != null){
+            // The client holds the game's state from here on, so no session is started
+            GameToken token = new GameToken(game.getId(), targetWord.getId(), 0, 0);
+            reply = new Reply(false, new WordPattern(game.getWord()).mask(0), message);
+            reply.setToken(gameTokens.issue(token));
+        } else {
+            GameSession session = gameSessionStore.startSession(game);
+            reply = new Reply(false, session.getMaskedWord(), message);
+        }
+        sample.stop(meterRegistry.timer(
+                "word_guesser.games.started",
+                "difficulty", difficulty == null ? "ANY" : difficulty.name()
+        ));
+        return reply;
     }
 
-    public List<Game> getAllGames(){
-        return gameRepository.findAll();
+    public List<GameDTO> getAllGames(){
+        return gameStore.findAllDTOs();
+    }
+
+    public GamePage getGamesAfter(int after, int limit){
+        List<GameDTO> games = gameStore.findPageAfter(after, limit);
+        Integer nextCursor = null;
+        if (games.size() == limit){
+            nextCursor = games.get(games.size() - 1).getId();
+        }
+        return new GamePage(games, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllGames(Consumer<GameDTO> consumer){
+        try (Stream<GameDTO> games = gameStore.streamAll()) {
+            games.forEach(consumer);
+        }
     }
 
     public List<Game> getAllGamesByPlayerId(long id){
-        return gameRepository.findByPlayerId(id);
+        return gameStore.findByPlayerId(id);
     }
 
     public List<Game> getAllGamesByWord(String word){
-        return gameRepository.findByWord(word);
+        return gameStore.findByWord(word);
     }
     public List<Game> getAllCompletedGames(){
-        return gameRepository.findByCompleteTrue();
+        return gameStore.findByCompleteTrue();
     }
 
 
-    public Optional<Game> getGameById(int id){
-        return gameRepository.findById(id);
+    public Optional<GameDTO> getGameById(int id){
+        return gameStore.findDTOById(id);
     }
 
-    public List<Game> getAllGamesMultiParam(Map<String, String> parameters) {
+    public List<GameDTO> getAllGamesMultiParam(Map<String, String> parameters) {
         String word = parameters.get("word");
         Integer guesses;
         if(parameters.get("guesses") == null){
@@ -158,6 +424,31 @@ public class GameService {
         } else {
             guesses = Integer.parseInt(parameters.get("guesses"));
         }
-        return gameRepository.findByCompleteTrueAndOptionalWordAndOptionalGuessesLessThan(word, guesses);
+        return gameStore.findCompleted(word, guesses)
+                .stream()
+                .map(GameDTO::new)
+                .collect(Collectors.toList());
     }
+
+    private static class GuessResult {
+
+        private final GuessOutcome outcome;
+        private final GuessEvent event;
+        private final Reply reply;
+        // Only set for the winning guess
+        private final GameCompleted completed;
+
+        // Invalid letters aren't logged, everything else is kept for the audit trail
+        GuessResult(Game game, String letter, GuessOutcome outcome, Reply reply) {
+            this.outcome = outcome;
+            if (outcome == GuessOutcome.INVALID_LETTER || letter == null){
+                this.event = null;
+            } else {
+                this.event = new GuessEvent(game.getId(), letter.toLowerCase(), outcome);
+            }
+            this.reply = reply;
+            this.completed = outcome == GuessOutcome.WIN ? new GameCompleted(game) : null;
+        }
+    }
+
 }
@@ -0,0 +1,139 @@
+package com.demos.bnta.word_guesser.services;
+
+import com.demos.bnta.word_guesser.components.GameCompletedConsumer;
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameCompleted;
+import com.demos.bnta.word_guesser.models.LeaderboardEntry;
+import com.demos.bnta.word_guesser.models.PlayerRanking;
+import com.demos.bnta.word_guesser.repositories.GameStore;
+import com.demos.bnta.word_guesser.repositories.LeaderboardEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Rankings are kept sorted in memory and updated as each game is won, so reads never
+// touch the database. New entries are saved to leaderboard_entries on a schedule.
+@Service
+public class LeaderboardService implements GameCompletedConsumer {
+
+    private static final Comparator<LeaderboardEntry> FEWEST_GUESSES =
+            Comparator.comparingInt(LeaderboardEntry::getGuesses)
+                    .thenComparingInt(LeaderboardEntry::getGameId);
+
+    private static final Comparator<PlayerRanking> MOST_WINS =
+            Comparator.comparingLong(PlayerRanking::getWins).reversed()
+                    .thenComparingLong(PlayerRanking::getPlayerId);
+
+    @Autowired
+    LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    GameStore gameStore;
+
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<LeaderboardEntry>> entriesByWord = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PlayerRanking> rankingsByPlayer = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<PlayerRanking> playerRankings = new ConcurrentSkipListSet<>(MOST_WINS);
+    private final ConcurrentLinkedQueue<LeaderboardEntry> unsavedEntries = new ConcurrentLinkedQueue<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load(){
+        List<LeaderboardEntry> savedEntries = leaderboardEntryRepository.findAll();
+        if (savedEntries.isEmpty()){
+            // First run, build the leaderboard from games that were already won
+            for (Game game : gameStore.findByCompleteTrue()) {
+                onGameCompleted(new GameCompleted(game));
+            }
+        } else {
+            for (LeaderboardEntry entry : savedEntries) {
+                addEntry(entry);
+            }
+        }
+    }
+
+    @Override
+    public void onGameCompleted(GameCompleted event){
+        LeaderboardEntry entry = new LeaderboardEntry(
+                event.getGameId(),
+                event.getWord(),
+                event.getPlayerId(),
+                event.getPlayerName(),
+                event.getGuesses()
+        );
+        addEntry(entry);
+        unsavedEntries.add(entry);
+    }
+
+    private void addEntry(LeaderboardEntry entry){
+        entriesByWord
+                .computeIfAbsent(entry.getWord(), word -> new ConcurrentSkipListSet<>(FEWEST_GUESSES))
+                .add(entry);
+        addWin(entry.getPlayerId(), entry.getPlayerName());
+    }
+
+    // Rankings are replaced rather than changed, the sorted set can't see changes to its elements
+    private synchronized void addWin(long playerId, String playerName){
+        PlayerRanking current = rankingsByPlayer.get(playerId);
+        long wins = 1;
+        if (current != null){
+            playerRankings.remove(current);
+            wins = current.getWins() + 1;
+        }
+        PlayerRanking updated = new PlayerRanking(playerId, playerName, wins);
+        rankingsByPlayer.put(playerId, updated);
+        playerRankings.add(updated);
+    }
+
+    public List<LeaderboardEntry> getTopForWord(String word, int top){
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        ConcurrentSkipListSet<LeaderboardEntry> wordEntries = entriesByWord.get(word);
+        if (wordEntries == null){
+            return entries;
+        }
+        for (LeaderboardEntry entry : wordEntries) {
+            if (entries.size() == top){
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    public List<PlayerRanking> getTopPlayers(int top){
+        List<PlayerRanking> rankings = new ArrayList<>();
+        for (PlayerRanking ranking : playerRankings) {
+            if (rankings.size() == top){
+                break;
+            }
+            rankings.add(ranking);
+        }
+        return rankings;
+    }
+
+    @Scheduled(fixedDelayString = "${word_guesser.leaderboard.save-interval-ms:5000}")
+    public void saveNewEntries(){
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        LeaderboardEntry entry;
+        while ((entry = unsavedEntries.poll()) != null){
+            entries.add(entry);
+        }
+        if (!entries.isEmpty()){
+            leaderboardEntryRepository.saveAll(entries);
+        }
+    }
+
+    @PreDestroy
+    public void saveOnShutdown(){
+        saveNewEntries();
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.demos.bnta.word_guesser.services;
 
 import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
+import com.demos.bnta.word_guesser.repositories.GameStore;
 import com.demos.bnta.word_guesser.repositories.PlayerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,14 +18,24 @@ public class PlayerService {
     @Autowired
     PlayerRepository playerRepository;
 
-    public List<Player> getAllPlayers(){
-        return playerRepository.findAll();
+    @Autowired
+    GameStore gameStore;
+
+    public List<PlayerSummary> getAllPlayers(){
+        return gameStore.findPlayerSummaries();
     }
 
+    // Read-through cache, a missing player isn't cached
+    @Cacheable(value = "players", unless = "#result == null")
     public Optional<Player> getPlayerById(Long id){
         return playerRepository.findById(id);
     }
 
+    public Optional<Player> getPlayerWithGamesById(Long id){
+        return gameStore.findPlayerWithGames(id);
+    }
+
+    @CachePut(value = "players", key = "#result.id")
     public Player savePlayer(Player player){
         playerRepository.save(player);
         return player;
@@ -1,11 +1,19 @@
 package com.demos.bnta.word_guesser.services;
 
+import com.demos.bnta.word_guesser.components.WordCatalog;
+import com.demos.bnta.word_guesser.components.WordSelector;
+import com.demos.bnta.word_guesser.models.Difficulty;
+import com.demos.bnta.word_guesser.models.Player;
 import com.demos.bnta.word_guesser.models.Word;
 import com.demos.bnta.word_guesser.repositories.WordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.Random;
+import java.util.Optional;
 
 @Service
 public class WordService {
@@ -13,12 +21,56 @@ public class WordService {
     @Autowired
     WordRepository wordRepository;
 
+    @Autowired
+    WordCatalog wordCatalog;
+
+    @Autowired
+    WordSelector wordSelector;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     public Word getRandomWord(){
-        Random random = new Random();
-        long randomIndex = random.nextLong(50);
-        return wordRepository.findById(randomIndex).get();
+        return wordCatalog.getRandomWord();
+    }
+
+//  Draws a word the player hasn't had before where possible, only recording it in
+//  players_words the first time they get it
+    public WordSelector.Selection drawWordForPlayer(Player player, Difficulty difficulty){
+        WordSelector.Selection selection = meterRegistry.timer("word_guesser.words.draws")
+                .record(() -> wordSelector.select(player.getId(), difficulty));
+        if (selection.isFirstDraw()){
+            addPlayerToWord(selection.getWord(), player);
+        } else {
+            meterRegistry.counter("word_guesser.words.repeats").increment();
+        }
+        if (selection.isFallback()){
+            meterRegistry.counter("word_guesser.words.fallbacks", "difficulty", difficulty.name()).increment();
+        }
+        return selection;
+    }
+
+    public Optional<Word> getCatalogWord(long id){
+        return wordCatalog.findById(id);
+    }
+
+    @Cacheable(value = "words", unless = "#result == null")
+    public Optional<Word> getWordById(long id){
+        return wordRepository.findById(id);
+    }
+
+    @CachePut(value = "words", key = "#result.id")
+    public Word addWord(Word word){
+        wordRepository.save(word);
+        wordCatalog.addWord(word);
+        return word;
+    }
+
+    public void addPlayerToWord(Word word, Player player){
+        wordRepository.addPlayerToWord(word.getId(), player.getId());
     }
 
+    @CacheEvict(value = "words", key = "#word.id")
     public void updateWord(Word word){
         wordRepository.save(word);
     }
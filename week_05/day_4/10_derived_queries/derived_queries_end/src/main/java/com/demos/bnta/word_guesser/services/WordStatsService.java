@@ -0,0 +1,141 @@
+package com.demos.bnta.word_guesser.services;
+
+import com.demos.bnta.word_guesser.components.GameCompletedConsumer;
+import com.demos.bnta.word_guesser.models.GameCompleted;
+import com.demos.bnta.word_guesser.models.WordStats;
+import com.demos.bnta.word_guesser.repositories.WordStatsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-word play/win totals, kept in the word_stats table. Games starting and being won only
+// add to in-memory counters, which are folded into word_stats on a schedule, so stats never
+// need a scan of the games table (apart from WordStatsBackfill filling an empty word_stats on
+// first startup).
+@Service
+public class WordStatsService implements GameCompletedConsumer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WordStatsService.class);
+
+    private static final String UPDATE_SQL = "UPDATE word_stats SET plays = plays + ?, wins = wins + ?, "
+            + "total_winning_guesses = total_winning_guesses + ? WHERE word = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO word_stats (plays, wins, total_winning_guesses, word) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    WordStatsRepository wordStatsRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, PendingStats> pending = new ConcurrentHashMap<>();
+
+    public void recordPlay(String word){
+        pending.merge(word, new PendingStats(1, 0, 0), PendingStats::plus);
+    }
+
+    @Override
+    public void onGameCompleted(GameCompleted event){
+        pending.merge(event.getWord(), new PendingStats(0, 1, event.getGuesses()), PendingStats::plus);
+    }
+
+    public Optional<WordStats> getStats(String word){
+        return wordStatsRepository.findById(word);
+    }
+
+    public List<WordStats> getMostPlayed(int limit){
+        return wordStatsRepository
+                .findAll(PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "plays")))
+                .getContent();
+    }
+
+    @Scheduled(fixedDelayString = "${word_guesser.word-stats.flush-interval-ms:5000}")
+    public synchronized void flush(){
+        Map<String, PendingStats> drained = new HashMap<>();
+        for (String word : pending.keySet()) {
+            PendingStats stats = pending.remove(word);
+            if (stats != null){
+                drained.put(word, stats);
+            }
+        }
+        if (drained.isEmpty()){
+            return;
+        }
+        try {
+            // Both batches commit together, so a failure leaves word_stats untouched
+            transactionTemplate.executeWithoutResult(status -> write(drained));
+        } catch (DataAccessException | TransactionException e) {
+            // Add the totals back, on top of anything recorded since, for the next flush
+            drained.forEach((word, stats) -> pending.merge(word, stats, PendingStats::plus));
+            meterRegistry.counter("word_guesser.write-behind.failures", "table", "word_stats").increment();
+            LOGGER.warn("Couldn't write stats for {} words, they'll be retried", drained.size(), e);
+        }
+    }
+
+    private void write(Map<String, PendingStats> drained){
+        List<Object[]> rows = new ArrayList<>();
+        drained.forEach((word, stats) -> rows.add(new Object[]{stats.plays, stats.wins, stats.winningGuesses, word}));
+        // Words without a row yet are inserted instead; only this method writes, so no races
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        List<Object[]> newRows = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0){
+                newRows.add(rows.get(i));
+            }
+        }
+        if (!newRows.isEmpty()){
+            jdbcTemplate.batchUpdate(INSERT_SQL, newRows);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown(){
+        flush();
+    }
+
+    private static class PendingStats {
+
+        private final long plays;
+        private final long wins;
+        private final long winningGuesses;
+
+        PendingStats(long plays, long wins, long winningGuesses) {
+            this.plays = plays;
+            this.wins = wins;
+            this.winningGuesses = winningGuesses;
+        }
+
+        PendingStats plus(PendingStats other){
+            return new PendingStats(
+                    this.plays + other.plays,
+                    this.wins + other.wins,
+                    this.winningGuesses + other.winningGuesses
+            );
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.demos.bnta.word_guesser.benchmarks;
+
+import com.demos.bnta.word_guesser.WordGuesserApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Starts the whole app against an in-memory H2 database, so benchmarks need no local postgres
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext start(String databaseName, String... extraProperties){
+        return new SpringApplicationBuilder(WordGuesserApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "server.port=0"
+                )
+                .properties(extraProperties)
+                .run();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.demos.bnta.word_guesser.benchmarks;
+
+import com.demos.bnta.word_guesser.models.Guess;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.Reply;
+import com.demos.bnta.word_guesser.models.Word;
+import com.demos.bnta.word_guesser.services.GameService;
+import com.demos.bnta.word_guesser.services.PlayerService;
+import com.demos.bnta.word_guesser.services.WordService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Service layer hot paths against an embedded H2 database.
+// Run all benchmarks with: mvn -Pbenchmark verify
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    private static final String[] GUESSES = "etaoinshrdlcumwfgypbvkjxqz".split("");
+
+    @State(Scope.Benchmark)
+    public static class App {
+
+        @Param({"false", "true"})
+        public String writeBehind;
+
+        ConfigurableApplicationContext context;
+        GameService gameService;
+        WordService wordService;
+        long playerId;
+
+        @Setup(Level.Trial)
+        public void setUp(){
+            context = BenchmarkApplication.start(
+                    "game_service",
+                    "word_guesser.write-behind.enabled=" + writeBehind
+            );
+            gameService = context.getBean(GameService.class);
+            wordService = context.getBean(WordService.class);
+            playerId = context.getBean(PlayerService.class).savePlayer(new Player("Benchmark")).getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown(){
+            context.close();
+        }
+    }
+
+    // Each thread plays its own game, starting another one once it's won
+    @State(Scope.Thread)
+    public static class CurrentGame {
+
+        int gameId;
+        int nextGuess;
+
+        void start(App app){
+            Reply reply = app.gameService.startNewGame(app.playerId);
+            gameId = Integer.parseInt(reply.getMessage().replaceAll("\\D", ""));
+            nextGuess = 0;
+        }
+    }
+
+    @Benchmark
+    public Reply processGuess(App app, CurrentGame game){
+        if (game.gameId == 0 || game.nextGuess == GUESSES.length){
+            game.start(app);
+        }
+        Reply reply = app.gameService.processGuess(new Guess(GUESSES[game.nextGuess++]), game.gameId);
+        if ("You win!".equals(reply.getMessage())){
+            game.nextGuess = GUESSES.length;
+        }
+        return reply;
+    }
+
+    @Benchmark
+    public Reply startNewGame(App app){
+        return app.gameService.startNewGame(app.playerId);
+    }
+
+    @Benchmark
+    public Word getRandomWord(App app){
+        return app.wordService.getRandomWord();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GameServiceBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.demos.bnta.word_guesser.benchmarks;
+
+import com.demos.bnta.word_guesser.models.GameSession;
+import com.demos.bnta.word_guesser.models.WordPattern;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Plays a whole game (every letter of the alphabet, most common first) against one word,
+// comparing the old ArrayList + String.replace loop with the WordPattern bitmask engine.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuessEvaluationBenchmark {
+
+    private static final String[] GUESSES = "etaoinshrdlcumwfgypbvkjxqz".split("");
+
+    @Param({"cry", "grandfather", "inappropriate", "pneumonoultramicroscopicsilicovolcanoconiosis"})
+    private String word;
+
+    private WordPattern pattern;
+    private int[] letterBits;
+
+    @Setup
+    public void setUp(){
+        this.pattern = new WordPattern(this.word);
+        this.letterBits = new int[GUESSES.length];
+        for (int i = 0; i < GUESSES.length; i++) {
+            this.letterBits[i] = WordPattern.letterBit(GUESSES[i]);
+        }
+    }
+
+    @Benchmark
+    public void stringReplaceLoop(Blackhole blackhole){
+        ArrayList<String> guessedLetters = new ArrayList<>();
+        String currentWord = "*".repeat(this.word.length());
+        for (String guess : GUESSES) {
+            if (guessedLetters.contains(guess)){
+                continue;
+            }
+            guessedLetters.add(guess);
+            if (!this.word.contains(guess)){
+                blackhole.consume(currentWord);
+                continue;
+            }
+            String runningResult = this.word;
+            for (Character letter : this.word.toCharArray()) {
+                if (!guessedLetters.contains(letter.toString())){
+                    runningResult = runningResult.replace(letter, '*');
+                }
+            }
+            currentWord = runningResult;
+            blackhole.consume(currentWord);
+            if (this.word.equals(currentWord)){
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public void bitmaskEngine(Blackhole blackhole){
+        GameSession session = new GameSession(0, this.pattern, 0);
+        for (int letterBit : this.letterBits) {
+            if (session.hasGuessed(letterBit)){
+                continue;
+            }
+            blackhole.consume(session.guess(letterBit));
+            // Every reply carries the masked word, so build it per guess like the string version
+            blackhole.consume(session.getMaskedWord());
+            if (session.isSolved()){
+                break;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GuessEvaluationBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.demos.bnta.word_guesser.benchmarks;
+
+import com.demos.bnta.word_guesser.models.Reply;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load runner over HTTP, started from main() rather than by the test suite: many concurrent
+ * players each start games and guess letters until they win, first with Tomcat's platform
+ * thread pool and then with virtual threads.
+ * <p>
+ * The virtual-thread comparison needs JDK 21 or later. On older JDKs only the platform-thread
+ * run is made and the virtual-thread run is skipped with a message.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.demos.bnta.word_guesser.benchmarks.GuessLoadRunner -Dexec.args="1000 30"
+ */
+public class GuessLoadRunner {
+
+    private static final String[] GUESSES = "etaoinshrdlcumwfgypbvkjxqz".split("");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        GuessLoadRunner runner = new GuessLoadRunner();
+        double platform = runner.run("false", players, seconds);
+        System.out.printf("%d players, platform threads: %.0f guesses/s%n", players, platform);
+
+        if (Runtime.version().feature() < 21){
+            System.out.printf("Skipping virtual threads, they need JDK 21+ (running on %s)%n", Runtime.version());
+        } else {
+            double virtual = runner.run("true", players, seconds);
+            System.out.printf("%d players, virtual threads:  %.0f guesses/s%n", players, virtual);
+        }
+        System.exit(0);
+    }
+
+    private double run(String virtualThreads, int players, int seconds) throws Exception {
+        ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "load_test_" + virtualThreads,
+                "word_guesser.virtual-threads.enabled=" + virtualThreads
+        );
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        LongAdder guesses = new LongAdder();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(players);
+        List<Future<?>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < players; i++) {
+            results.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    playGame(baseUrl, guesses);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+        context.close();
+        return guesses.sum() / elapsedSeconds;
+    }
+
+    private void playGame(String baseUrl, LongAdder guesses) throws Exception {
+        Reply started = send(HttpRequest.newBuilder(URI.create(baseUrl + "/games?playerId=1"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+        String gameId = started.getMessage().replaceAll("\\D", "");
+        for (String letter : GUESSES) {
+            Reply reply = send(HttpRequest.newBuilder(URI.create(baseUrl + "/games/" + gameId))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"letter\": \"" + letter + "\"}"))
+                    .build());
+            guesses.increment();
+            if ("You win!".equals(reply.getMessage())) {
+                return;
+            }
+        }
+    }
+
+    private Reply send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readValue(response.body(), Reply.class);
+    }
+
+}
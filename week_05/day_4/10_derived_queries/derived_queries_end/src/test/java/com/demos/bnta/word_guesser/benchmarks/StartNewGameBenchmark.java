@@ -0,0 +1,86 @@
+package com.demos.bnta.word_guesser.benchmarks;
+
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.Reply;
+import com.demos.bnta.word_guesser.models.Word;
+import com.demos.bnta.word_guesser.repositories.WordRepository;
+import com.demos.bnta.word_guesser.services.GameService;
+import com.demos.bnta.word_guesser.services.PlayerService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Starts games against an H2 database where every word has already been drawn by
+// existingPlayers players. startNewGame should stay flat as that number grows, while the
+// old load-and-resave of Word.players gets slower.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StartNewGameBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int existingPlayers;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+    private WordRepository wordRepository;
+    private TransactionTemplate transactionTemplate;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.context = BenchmarkApplication.start("start_new_game");
+        this.gameService = this.context.getBean(GameService.class);
+        this.wordRepository = this.context.getBean(WordRepository.class);
+        this.transactionTemplate = this.context.getBean(TransactionTemplate.class);
+        this.player = this.context.getBean(PlayerService.class).savePlayer(new Player("Benchmark"));
+
+        JdbcTemplate jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+        List<Object[]> names = new ArrayList<>();
+        for (int i = 0; i < this.existingPlayers; i++) {
+            names.add(new Object[]{"player" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO players (name) VALUES (?)", names);
+        jdbcTemplate.update("INSERT INTO players_words (word_id, player_id) "
+                + "SELECT w.id, p.id FROM words w CROSS JOIN players p");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        this.context.close();
+    }
+
+    @Benchmark
+    public Reply startNewGame(){
+        return this.gameService.startNewGame(this.player.getId());
+    }
+
+    // What startNewGame used to do: load the word's players, append one and save the list
+    @Benchmark
+    public Word loadAndResaveWordPlayers(){
+        return this.transactionTemplate.execute(status -> {
+            Word word = this.wordRepository.findById(1L).get();
+            word.addPlayer(this.player);
+            return this.wordRepository.save(word);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StartNewGameBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
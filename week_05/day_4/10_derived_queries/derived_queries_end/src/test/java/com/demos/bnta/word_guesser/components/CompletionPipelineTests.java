@@ -0,0 +1,175 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameCompleted;
+import com.demos.bnta.word_guesser.models.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the real queues and worker threads with consumers that can be held up on purpose.
+class CompletionPipelineTests {
+
+    private static final int QUEUE_CAPACITY = 2;
+    private static final long PUBLISH_TIMEOUT_MILLIS = 50;
+
+    private CompletionPipeline pipeline;
+    private SimpleMeterRegistry meterRegistry;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new CompletionPipeline();
+        pipeline.meterRegistry = meterRegistry;
+        pipeline.queueCapacity = QUEUE_CAPACITY;
+        pipeline.publishTimeoutMillis = PUBLISH_TIMEOUT_MILLIS;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        pipeline.stop();
+    }
+
+    @Test
+    void fullQueueRejectsAfterTimeoutInsteadOfBlocking() throws Exception {
+        BlockingConsumer blocked = new BlockingConsumer();
+        start(blocked);
+
+        pipeline.publish(completion(1));
+        assertThat(blocked.started.await(5, TimeUnit.SECONDS)).isTrue();
+        // The consumer is stuck on game 1, so these two fill its queue
+        pipeline.publish(completion(2));
+        pipeline.publish(completion(3));
+
+        long started = System.nanoTime();
+        pipeline.publish(completion(4));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(waitedMillis).isGreaterThanOrEqualTo(PUBLISH_TIMEOUT_MILLIS - 10).isLessThan(2000);
+        assertThat(rejected("BlockingConsumer")).isEqualTo(1);
+
+        release.countDown();
+        pipeline.stop();
+        assertThat(blocked.handled).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void slowOrFailingConsumerDoesNotHoldUpOthers() throws Exception {
+        BlockingConsumer blocked = new BlockingConsumer();
+        FailingConsumer failing = new FailingConsumer();
+        RecordingConsumer recording = new RecordingConsumer();
+        start(blocked, failing, recording);
+
+        for (int gameId = 1; gameId <= 5; gameId++) {
+            pipeline.publish(completion(gameId));
+        }
+        release.countDown();
+        pipeline.stop();
+
+        assertThat(recording.handled).containsExactly(1, 2, 3, 4, 5);
+        // Game 1 threw, the rest were still handled
+        assertThat(failing.handled).containsExactly(2, 3, 4, 5);
+        assertThat(rejected("RecordingConsumer")).isZero();
+        assertThat(rejected("FailingConsumer")).isZero();
+        assertThat(rejected("BlockingConsumer")).isPositive();
+    }
+
+    @Test
+    void stopDrainsQueuedEventsAndLaterPublishesAreRejected() throws Exception {
+        pipeline.queueCapacity = 100;
+        RecordingConsumer slow = new RecordingConsumer(5);
+        start(slow);
+
+        for (int gameId = 1; gameId <= 20; gameId++) {
+            pipeline.publish(completion(gameId));
+        }
+        pipeline.stop();
+        assertThat(slow.handled).hasSize(20);
+
+        long started = System.nanoTime();
+        pipeline.publish(completion(21));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(PUBLISH_TIMEOUT_MILLIS);
+        assertThat(rejected("RecordingConsumer")).isEqualTo(1);
+        assertThat(slow.handled).hasSize(20);
+    }
+
+    private void start(GameCompletedConsumer... consumers) {
+        pipeline.consumers = List.of(consumers);
+        pipeline.start();
+    }
+
+    private double rejected(String consumer) {
+        return meterRegistry.counter("word_guesser.completions.rejected", "consumer", consumer).count();
+    }
+
+    private static GameCompleted completion(int gameId) {
+        Game game = new Game("safari", new Player("Tester"));
+        game.setId(gameId);
+        return new GameCompleted(game);
+    }
+
+    private static class RecordingConsumer implements GameCompletedConsumer {
+
+        final List<Integer> handled = new CopyOnWriteArrayList<>();
+        private final long delayMillis;
+
+        RecordingConsumer() {
+            this(0);
+        }
+
+        RecordingConsumer(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void onGameCompleted(GameCompleted event) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add(event.getGameId());
+        }
+    }
+
+    private class BlockingConsumer implements GameCompletedConsumer {
+
+        final List<Integer> handled = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        public void onGameCompleted(GameCompleted event) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add(event.getGameId());
+        }
+    }
+
+    private static class FailingConsumer implements GameCompletedConsumer {
+
+        final List<Integer> handled = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onGameCompleted(GameCompleted event) {
+            if (event.getGameId() == 1){
+                throw new IllegalStateException("Failed on purpose");
+            }
+            handled.add(event.getGameId());
+        }
+    }
+
+}
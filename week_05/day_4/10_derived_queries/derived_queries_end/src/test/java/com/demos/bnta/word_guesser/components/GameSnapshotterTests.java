@@ -0,0 +1,129 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GuessEvent;
+import com.demos.bnta.word_guesser.models.GuessOutcome;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.repositories.GameRepository;
+import com.demos.bnta.word_guesser.repositories.GuessEventRepository;
+import com.demos.bnta.word_guesser.repositories.PlayerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs without a test transaction so every snapshot commits on its own connection,
+// the way several instances of the app would run it against one database.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GameSnapshotterTests {
+
+    private static final int SNAPSHOTTERS = 8;
+
+    @Autowired
+    GameRepository gameRepository;
+
+    @Autowired
+    PlayerRepository playerRepository;
+
+    @Autowired
+    GuessEventRepository guessEventRepository;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        Player player = playerRepository.save(new Player("Snapshot"));
+        game = gameRepository.save(new Game("safari", player));
+        guessEventRepository.saveAll(List.of(
+                new GuessEvent(game.getId(), "s", GuessOutcome.HIT),
+                new GuessEvent(game.getId(), "z", GuessOutcome.MISS),
+                new GuessEvent(game.getId(), "s", GuessOutcome.ALREADY_GUESSED),
+                new GuessEvent(game.getId(), "a", GuessOutcome.HIT),
+                new GuessEvent(game.getId(), "f", GuessOutcome.HIT),
+                new GuessEvent(game.getId(), "r", GuessOutcome.HIT),
+                new GuessEvent(game.getId(), "i", GuessOutcome.WIN)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM guess_events");
+        jdbcTemplate.update("DELETE FROM games");
+        jdbcTemplate.update("DELETE FROM players");
+    }
+
+    @Test
+    void concurrentSnapshotsCountEachGuessOnce() throws Exception {
+        long versionBefore = gameRepository.findById(game.getId()).get().getVersion();
+
+        ExecutorService executor = Executors.newFixedThreadPool(SNAPSHOTTERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new ArrayList<>();
+        try {
+            for (int i = 0; i < SNAPSHOTTERS; i++) {
+                GameSnapshotter snapshotter = newSnapshotter();
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    snapshotter.snapshot();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Game snapshot = gameRepository.findById(game.getId()).get();
+        assertThat(snapshot.getGuesses()).isEqualTo(6);
+        assertThat(snapshot.isComplete()).isTrue();
+        assertThat(snapshot.getVersion()).isEqualTo(versionBefore + SNAPSHOTTERS);
+    }
+
+    @Test
+    void saveOfGameLoadedBeforeSnapshotIsRejected() {
+        Game stale = gameRepository.findById(game.getId()).get();
+
+        newSnapshotter().snapshot();
+
+        stale.setGuesses(1);
+        assertThatThrownBy(() -> gameRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(gameRepository.findById(game.getId()).get().getGuesses()).isEqualTo(6);
+    }
+
+    // Each snapshotter has its own lastRun, like separate app instances.
+    private GameSnapshotter newSnapshotter() {
+        GameSnapshotter snapshotter = new GameSnapshotter();
+        snapshotter.jdbcTemplate = namedParameterJdbcTemplate;
+        ReflectionTestUtils.setField(snapshotter, "maxLagMillis", 1000L);
+        return snapshotter;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.GuessEvent;
+import com.demos.bnta.word_guesser.models.GuessOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuessEventLogTests {
+
+    private GuessEventLog guessEventLog;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        guessEventLog = new GuessEventLog();
+        guessEventLog.jdbcTemplate = jdbcTemplate;
+        guessEventLog.meterRegistry = meterRegistry;
+        ReflectionTestUtils.setField(guessEventLog, "writeBehind", true);
+        ReflectionTestUtils.setField(guessEventLog, "batchSize", 2);
+    }
+
+    @Test
+    void failedBatchIsKeptInOrderForTheNextFlush() {
+        // The first batch goes in, the second fails, then everything works again
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[2])
+                .thenThrow(new DataAccessResourceFailureException("Lost connection"))
+                .thenReturn(new int[2]);
+        guessEventLog.appendAll(List.of(event("a"), event("b"), event("c"), event("d"), event("e")));
+
+        guessEventLog.flush();
+
+        assertThat(guessEventLog.size()).isEqualTo(3);
+        assertThat(meterRegistry.counter("word_guesser.write-behind.failures", "table", "guess_events").count())
+                .isEqualTo(1);
+
+        guessEventLog.append(event("f"));
+        guessEventLog.flush();
+
+        assertThat(guessEventLog.size()).isZero();
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(4)).batchUpdate(anyString(), rows.capture());
+        List<List<Object[]>> batches = rows.getAllValues();
+        assertThat(letters(batches.get(2))).containsExactly("c", "d");
+        assertThat(letters(batches.get(3))).containsExactly("e", "f");
+    }
+
+    private static List<Object> letters(List<Object[]> rows) {
+        return rows.stream().map(row -> row[1]).collect(Collectors.toList());
+    }
+
+    private static GuessEvent event(String letter) {
+        return new GuessEvent(1, letter, GuessOutcome.MISS);
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.demos.bnta.word_guesser.components;
+
+import com.demos.bnta.word_guesser.models.Difficulty;
+import com.demos.bnta.word_guesser.models.Word;
+import com.demos.bnta.word_guesser.models.WordStats;
+import com.demos.bnta.word_guesser.repositories.WordRepository;
+import com.demos.bnta.word_guesser.repositories.WordStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Words are scored by their distinct letters unless they have enough wins, so the words below
+// score 1 to 9 and fall into bands of three.
+class WordSelectorTests {
+
+    private static final List<String> WORDS = List.of(
+            "a", "ab", "abc", "abcd", "abcde", "abcdef", "abcdefg", "abcdefgh", "abcdefghi"
+    );
+
+    private WordSelector wordSelector;
+    private WordCatalog wordCatalog;
+    private WordRepository wordRepository;
+    private WordStatsRepository wordStatsRepository;
+
+    @BeforeEach
+    void setUp() {
+        wordCatalog = new WordCatalog();
+        wordRepository = mock(WordRepository.class);
+        wordStatsRepository = mock(WordStatsRepository.class);
+        when(wordRepository.findWordIdsByPlayerId(anyLong())).thenReturn(List.of());
+        when(wordStatsRepository.findAll()).thenReturn(List.of());
+
+        wordSelector = new WordSelector();
+        wordSelector.wordCatalog = wordCatalog;
+        wordSelector.wordRepository = wordRepository;
+        wordSelector.wordStatsRepository = wordStatsRepository;
+        wordSelector.maxPlayers = 10;
+        wordSelector.init();
+    }
+
+    @Test
+    void bandsSplitCatalogIntoThirdsByScore() {
+        addWords(WORDS);
+        // Enough wins for its mean guesses to replace its letter count
+        when(wordStatsRepository.findAll()).thenReturn(List.of(new WordStats("a", 5, 5, 100)));
+        wordSelector.rebuildBands();
+
+        assertThat(bandOf("ab")).isEqualTo(Difficulty.EASY);
+        assertThat(bandOf("abcd")).isEqualTo(Difficulty.EASY);
+        assertThat(bandOf("abcde")).isEqualTo(Difficulty.MEDIUM);
+        assertThat(bandOf("abcdefg")).isEqualTo(Difficulty.MEDIUM);
+        assertThat(bandOf("abcdefgh")).isEqualTo(Difficulty.HARD);
+        assertThat(bandOf("a")).isEqualTo(Difficulty.HARD);
+    }
+
+    @Test
+    void drawsEveryWordInBandBeforeRepeatingOne() {
+        addWords(WORDS);
+        wordSelector.rebuildBands();
+
+        Set<String> drawn = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            WordSelector.Selection selection = wordSelector.select(1L, Difficulty.EASY);
+            assertThat(selection.isFirstDraw()).isTrue();
+            assertThat(selection.isFallback()).isFalse();
+            assertThat(selection.getDifficulty()).isEqualTo(Difficulty.EASY);
+            drawn.add(selection.getWord().getWord());
+        }
+        assertThat(drawn).containsExactlyInAnyOrder("a", "ab", "abc");
+
+        WordSelector.Selection repeat = wordSelector.select(1L, Difficulty.EASY);
+        assertThat(repeat.isFirstDraw()).isFalse();
+        assertThat(repeat.isFallback()).isFalse();
+        assertThat(drawn).contains(repeat.getWord().getWord());
+    }
+
+    @Test
+    void neverRepeatsWordsPlayerHadBefore() {
+        addWords(WORDS);
+        wordSelector.rebuildBands();
+        when(wordRepository.findWordIdsByPlayerId(1L)).thenReturn(List.of(1L, 3L));
+
+        WordSelector.Selection selection = wordSelector.select(1L, Difficulty.EASY);
+
+        assertThat(selection.getWord().getWord()).isEqualTo("ab");
+        assertThat(selection.isFirstDraw()).isTrue();
+        assertThat(wordSelector.select(1L, Difficulty.EASY).isFirstDraw()).isFalse();
+    }
+
+    @Test
+    void wordsAddedAfterBandRanOutAreDrawn() {
+        addWords(WORDS);
+        wordSelector.rebuildBands();
+        for (int i = 0; i < 4; i++) {
+            wordSelector.select(1L, Difficulty.EASY);
+        }
+
+        addWords(List.of("aaa"));
+        WordSelector.Selection selection = wordSelector.select(1L, Difficulty.EASY);
+
+        assertThat(selection.getWord().getWord()).isEqualTo("aaa");
+        assertThat(selection.isFirstDraw()).isTrue();
+    }
+
+    @Test
+    void emptyBandFallsBackToAnotherBandAndSaysSo() {
+        // Every word has two letters, so they all land in the top band
+        addWords(List.of("ab", "cd", "ef"));
+        wordSelector.rebuildBands();
+
+        WordSelector.Selection selection = wordSelector.select(1L, Difficulty.EASY);
+
+        assertThat(selection.isFallback()).isTrue();
+        assertThat(selection.isFirstDraw()).isTrue();
+        assertThat(selection.getDifficulty()).isEqualTo(Difficulty.HARD);
+        assertThat(wordSelector.select(1L, Difficulty.HARD).isFallback()).isFalse();
+    }
+
+    private void addWords(List<String> words) {
+        for (String text : words) {
+            Word word = new Word(text);
+            word.setId(wordCatalog.size() + 1);
+            wordCatalog.addWord(word);
+        }
+    }
+
+    private Difficulty bandOf(String text) {
+        List<String> catalog = new ArrayList<>();
+        for (int i = 0; i < wordCatalog.size(); i++) {
+            catalog.add(wordCatalog.getWord(i).getWord());
+        }
+        return wordSelector.difficultyOf(catalog.indexOf(text));
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.demos.bnta.word_guesser.controllers;
+
+import com.demos.bnta.word_guesser.models.GamePage;
+import com.demos.bnta.word_guesser.services.GameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(GameController.class)
+class GameControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    GameService gameService;
+
+    @Test
+    void afterAlonePagesWithTheDefaultLimit() throws Exception {
+        when(gameService.getGamesAfter(anyInt(), anyInt())).thenReturn(new GamePage(new ArrayList<>(), null));
+
+        mockMvc.perform(get("/games").param("after", "10"))
+                .andExpect(status().isOk());
+
+        verify(gameService).getGamesAfter(10, 100);
+        verify(gameService, never()).getAllGamesMultiParam(anyMap());
+    }
+
+    @Test
+    void filtersCantBeCombinedWithPaging() throws Exception {
+        mockMvc.perform(get("/games").param("word", "safari").param("limit", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/games").param("guesses", "5").param("after", "10"))
+                .andExpect(status().isBadRequest());
+
+        verify(gameService, never()).getGamesAfter(anyInt(), anyInt());
+    }
+
+    @Test
+    void guessesWithoutAGameAreBadRequest() throws Exception {
+        mockMvc.perform(post("/games/guesses").contentType(MediaType.APPLICATION_JSON).content("[null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/games/guesses").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"gameId\": 1, \"letter\": \"a\"}, null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/games/guesses").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"letter\": \"a\"}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(gameService, never()).processGuesses(anyList());
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameDTO;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameListTests {
+
+    private GameList gameList;
+    private Player alice;
+    private Player bob;
+
+    @BeforeEach
+    void setUp() {
+        gameList = new GameList();
+        gameList.playerRepository = mock(PlayerRepository.class);
+        alice = new Player("Alice");
+        alice.setId(1L);
+        bob = new Player("Bob");
+        bob.setId(2L);
+    }
+
+    @Test
+    void newGamesGetIncreasingIds() {
+        Game first = gameList.save(new Game("safari", alice));
+        Game second = gameList.save(new Game("volcano", alice));
+
+        assertThat(first.getId()).isEqualTo(1);
+        assertThat(second.getId()).isEqualTo(2);
+        assertThat(gameList.size()).isEqualTo(2);
+    }
+
+    @Test
+    void idsAllocatedAfterHandSetIdAreAboveIt() {
+        Game imported = new Game("safari", alice);
+        imported.setId(10);
+        gameList.save(imported);
+
+        Game next = gameList.save(new Game("volcano", alice));
+
+        assertThat(next.getId()).isEqualTo(11);
+    }
+
+    @Test
+    void savingOverGameMovesItBetweenIndexes() {
+        Game game = gameList.save(new Game("safari", alice));
+
+        Game replacement = new Game("volcano", bob);
+        replacement.setId(game.getId());
+        gameList.save(replacement);
+
+        assertThat(gameList.findByWord("safari")).isEmpty();
+        assertThat(gameList.findByPlayerId(alice.getId())).isEmpty();
+        assertThat(gameList.findByWord("volcano")).containsExactly(replacement);
+        assertThat(gameList.findByPlayerId(bob.getId())).containsExactly(replacement);
+        assertThat(gameList.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesStartAfterGivenId() {
+        for (int i = 0; i < 5; i++) {
+            gameList.save(new Game("safari", alice));
+        }
+
+        assertThat(gameList.findPageAfter(0, 2)).extracting(GameDTO::getId).containsExactly(1, 2);
+        assertThat(gameList.findPageAfter(2, 2)).extracting(GameDTO::getId).containsExactly(3, 4);
+        assertThat(gameList.findPageAfter(4, 2)).extracting(GameDTO::getId).containsExactly(5);
+        assertThat(gameList.findPageAfter(5, 2)).isEmpty();
+    }
+
+    @Test
+    void playerReadsCountGamesFromList() {
+        gameList.save(new Game("safari", alice));
+        gameList.save(new Game("volcano", alice));
+        gameList.save(new Game("safari", bob));
+        // The database has no games, so its counts are always zero
+        when(gameList.playerRepository.findAllSummaries()).thenReturn(new ArrayList<>(List.of(
+                new PlayerSummary(1L, "Alice", 0, 2),
+                new PlayerSummary(2L, "Bob", 0, 1)
+        )));
+        when(gameList.playerRepository.findById(1L)).thenReturn(Optional.of(alice));
+
+        assertThat(gameList.findPlayerSummaries())
+                .extracting(PlayerSummary::getGameCount)
+                .containsExactly(2L, 1L);
+        assertThat(gameList.findPlayerWithGames(1L).get().getGames())
+                .extracting(Game::getWord)
+                .containsExactly("safari", "volcano");
+    }
+
+}
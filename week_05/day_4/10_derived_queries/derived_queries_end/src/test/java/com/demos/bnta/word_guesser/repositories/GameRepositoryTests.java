@@ -0,0 +1,115 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.Player;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.demos.bnta.word_guesser.repositories.GameRepositoryTests$SqlCapture")
+@Import(JpaGameStore.class)
+class GameRepositoryTests {
+
+    // Records every statement Hibernate prepares, so tests can EXPLAIN the real generated SQL
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    GameRepository gameRepository;
+
+    @Autowired
+    JpaGameStore gameStore;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        player = entityManager.persist(new Player("Tester"));
+        for (int i = 0; i < 20; i++) {
+            Game game = new Game(i % 2 == 0 ? "safari" : "volcano", player);
+            game.setGuesses(i);
+            game.setComplete(i % 3 == 0);
+            entityManager.persist(game);
+        }
+        entityManager.flush();
+    }
+
+    // EXPLAINs the last statement Hibernate ran for the given call. Only bound parameters are
+    // passed, Hibernate writes numeric literals such as the guesses limit straight into the SQL.
+    private String explainGenerated(Runnable query, Object... parameters) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        String sql = SqlCapture.STATEMENTS.get(SqlCapture.STATEMENTS.size() - 1);
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    @Test
+    void leaderboardQueryUsesWordIndex() {
+        String plan = explainGenerated(() -> gameStore.findCompleted("safari", 10), "safari");
+        assertThat(plan).containsIgnoringCase("idx_games_word_complete_guesses");
+        assertThat(plan).doesNotContainIgnoringCase("GAMES.tableScan");
+    }
+
+    @Test
+    void completedGamesQueryUsesAnIndex() {
+        String plan = explainGenerated(() -> gameStore.findCompleted(null, 10));
+        assertThat(plan).doesNotContainIgnoringCase("GAMES.tableScan");
+    }
+
+    @Test
+    void playerQueryUsesAnIndex() {
+        String plan = explainGenerated(() -> gameStore.findByPlayerId(player.getId()), player.getId());
+        assertThat(plan).containsIgnoringCase("idx_games_player_id");
+        assertThat(plan).doesNotContainIgnoringCase("GAMES.tableScan");
+    }
+
+    @Test
+    void specificationsOnlyApplyGivenFilters() {
+        Specification<Game> completeOnly = Specification.where(GameSpecifications.isComplete());
+        Specification<Game> allFilters = completeOnly
+                .and(GameSpecifications.hasWord("safari"))
+                .and(GameSpecifications.hasFewerGuessesThan(10));
+
+        List<Game> completeGames = gameRepository.findAll(completeOnly);
+        List<Game> filteredGames = gameRepository.findAll(allFilters);
+
+        assertThat(completeGames).hasSize(7);
+        assertThat(filteredGames).extracting(Game::getGuesses).containsExactlyInAnyOrder(0, 6);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.demos.bnta.word_guesser.repositories;
+
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameDTO;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.PlayerSummary;
+import com.demos.bnta.word_guesser.models.Word;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PlayerRepositoryTests {
+
+    @Autowired
+    PlayerRepository playerRepository;
+
+    @Autowired
+    GameRepository gameRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Word safari = entityManager.persist(new Word("safari"));
+        Word volcano = entityManager.persist(new Word("volcano"));
+        for (int i = 0; i < 10; i++) {
+            Player player = new Player("Player " + i);
+            player.addWord(safari);
+            if (i % 2 == 0) {
+                player.addWord(volcano);
+            }
+            entityManager.persist(player);
+            for (int j = 0; j < 3; j++) {
+                entityManager.persist(new Game("safari", player));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void playerSummariesUseOneStatement() {
+        List<PlayerSummary> summaries = playerRepository.findAllSummaries();
+
+        assertThat(summaries).hasSize(10);
+        assertThat(summaries).extracting(PlayerSummary::getGameCount).containsOnly(3L);
+        assertThat(summaries.get(0).getWordCount()).isEqualTo(2);
+        assertThat(summaries.get(1).getWordCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void gameListingUsesOneStatement() {
+        List<GameDTO> games = gameRepository.findAllDTOs();
+
+        assertThat(games).hasSize(30);
+        assertThat(games).extracting(GameDTO::getPlayerName).doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void playerWithGamesUsesOneStatement() {
+        long id = playerRepository.findAllSummaries().get(0).getId();
+        statistics.clear();
+
+        Player player = playerRepository.findWithGamesById(id).get();
+
+        assertThat(player.getGames()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.demos.bnta.word_guesser.services;
+
+import com.demos.bnta.word_guesser.components.CompletionPipeline;
+import com.demos.bnta.word_guesser.components.GameLocks;
+import com.demos.bnta.word_guesser.components.GameSessionStore;
+import com.demos.bnta.word_guesser.components.GuessEventLog;
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GameCompleted;
+import com.demos.bnta.word_guesser.models.GameGuess;
+import com.demos.bnta.word_guesser.models.Guess;
+import com.demos.bnta.word_guesser.models.GuessEvent;
+import com.demos.bnta.word_guesser.models.GuessOutcome;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.models.Reply;
+import com.demos.bnta.word_guesser.repositories.GameStore;
+import com.demos.bnta.word_guesser.repositories.GuessEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Many threads guess every letter on the same few games at once. Each letter must be
+// counted exactly once per game and every game won exactly once.
+class GameServiceConcurrencyTests {
+
+    private static final int THREADS = 64;
+    private static final int GAMES = 8;
+    private static final String WORD = "pneumonoultramicroscopicsilicovolcanoconiosis";
+
+    private GameService gameService;
+    private LeaderboardService leaderboardService;
+    private final ConcurrentLinkedQueue<GuessEvent> events = new ConcurrentLinkedQueue<>();
+    private GameLocks gameLocks;
+    private volatile boolean appendedUnderLock;
+
+    @BeforeEach
+    void setUp() {
+        Player player = new Player("Tester");
+        player.setId(1L);
+
+        // Every request loads its own copy of the game, like findById does
+        GameStore gameStore = mock(GameStore.class);
+        when(gameStore.findById(anyInt())).thenAnswer(invocation -> {
+            Game game = new Game(WORD, player);
+            game.setId((Integer) invocation.getArgument(0));
+            return Optional.of(game);
+        });
+        when(gameStore.findAllById(any())).thenAnswer(invocation -> {
+            List<Game> games = new ArrayList<>();
+            for (Integer id : (Iterable<Integer>) invocation.getArgument(0)) {
+                if (id <= GAMES){
+                    games.add(gameStore.findById(id).get());
+                }
+            }
+            return games;
+        });
+
+        GuessEventRepository guessEventRepository = mock(GuessEventRepository.class);
+        when(guessEventRepository.findByGameIdOrderByIdAsc(anyInt())).thenReturn(new ArrayList<>());
+
+        gameLocks = new GameLocks();
+        GameSessionStore gameSessionStore = new GameSessionStore();
+        ReflectionTestUtils.setField(gameSessionStore, "gameLocks", gameLocks);
+
+        gameService = new GameService();
+        gameService.gameStore = gameStore;
+        gameService.guessEventRepository = guessEventRepository;
+        gameService.gameLocks = gameLocks;
+        gameService.gameSessionStore = gameSessionStore;
+        // Completions are handed straight to the leaderboard instead of through queues
+        leaderboardService = new LeaderboardService();
+        gameService.completionPipeline = new CompletionPipeline() {
+            @Override
+            public void publish(GameCompleted event) {
+                leaderboardService.onGameCompleted(event);
+            }
+        };
+        gameService.wordStatsService = new WordStatsService();
+        gameService.meterRegistry = new SimpleMeterRegistry();
+        gameService.guessEventLog = new GuessEventLog() {
+            @Override
+            public void append(GuessEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void appendAll(List<GuessEvent> batch) {
+                for (int gameId = 1; gameId <= GAMES; gameId++) {
+                    if (((ReentrantLock) gameLocks.lockFor(gameId)).isHeldByCurrentThread()){
+                        appendedUnderLock = true;
+                    }
+                }
+                events.addAll(batch);
+            }
+        };
+    }
+
+    @Test
+    void concurrentGuessesAreNeverLostOrDoubleCounted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            results.add(executor.submit(() -> {
+                List<String> letters = new ArrayList<>(List.of("abcdefghijklmnopqrstuvwxyz".split("")));
+                Collections.shuffle(letters);
+                start.await();
+                for (String letter : letters) {
+                    for (int gameId = 1; gameId <= GAMES; gameId++) {
+                        gameService.processGuess(new Guess(letter), gameId);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        for (int gameId = 1; gameId <= GAMES; gameId++) {
+            int id = gameId;
+            List<GuessEvent> counted = events.stream()
+                    .filter(event -> event.getGameId() == id && event.getOutcome().isCounted())
+                    .collect(Collectors.toList());
+            List<String> countedLetters = counted.stream()
+                    .map(GuessEvent::getLetter)
+                    .collect(Collectors.toList());
+            long wins = counted.stream()
+                    .filter(event -> event.getOutcome() == GuessOutcome.WIN)
+                    .count();
+
+            assertThat(countedLetters).doesNotHaveDuplicates();
+            assertThat(wins).isEqualTo(1);
+            assertThat(gameService.gameSessionStore.findSession(id).get().getGuesses())
+                    .isEqualTo(counted.size());
+        }
+        assertThat(leaderboardService.getTopPlayers(1).get(0).getWins()).isEqualTo(GAMES);
+    }
+
+    @Test
+    void batchRepliesKeepRequestOrderAndEventsAreInsertedWithoutLocks() {
+        List<Reply> replies = gameService.processGuesses(List.of(
+                new GameGuess(1, "p"),
+                new GameGuess(2, "z"),
+                new GameGuess(GAMES + 1, "p"),
+                new GameGuess(1, "p"),
+                new GameGuess(2, "n")
+        ));
+
+        assertThat(replies).extracting(Reply::getMessage).containsExactly(
+                "p is in the word",
+                "z is not in the word",
+                String.format("No game with id %d", GAMES + 1),
+                "Already guessed p",
+                "n is in the word"
+        );
+        assertThat(events).hasSize(4);
+        assertThat(appendedUnderLock).isFalse();
+    }
+
+}
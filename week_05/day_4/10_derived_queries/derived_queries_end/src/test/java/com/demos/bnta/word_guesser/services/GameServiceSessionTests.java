@@ -0,0 +1,62 @@
+package com.demos.bnta.word_guesser.services;
+
+import com.demos.bnta.word_guesser.components.GameSessionStore;
+import com.demos.bnta.word_guesser.models.Game;
+import com.demos.bnta.word_guesser.models.GuessEvent;
+import com.demos.bnta.word_guesser.models.GuessOutcome;
+import com.demos.bnta.word_guesser.models.Player;
+import com.demos.bnta.word_guesser.repositories.GameStore;
+import com.demos.bnta.word_guesser.repositories.GuessEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameServiceSessionTests {
+
+    private GameService gameService;
+    private GameSessionStore gameSessionStore;
+
+    @BeforeEach
+    void setUp() {
+        Game game = new Game("safari", new Player("Tester"));
+        game.setId(1);
+        GameStore gameStore = mock(GameStore.class);
+        when(gameStore.findById(anyInt())).thenReturn(Optional.empty());
+        when(gameStore.findById(1)).thenReturn(Optional.of(game));
+
+        GuessEventRepository guessEventRepository = mock(GuessEventRepository.class);
+        when(guessEventRepository.findByGameIdOrderByIdAsc(1)).thenReturn(List.of(
+                new GuessEvent(1, "s", GuessOutcome.HIT),
+                new GuessEvent(1, "s", GuessOutcome.ALREADY_GUESSED),
+                new GuessEvent(1, "z", GuessOutcome.MISS)
+        ));
+
+        gameSessionStore = new GameSessionStore();
+        gameService = new GameService();
+        gameService.gameStore = gameStore;
+        gameService.gameSessionStore = gameSessionStore;
+        gameService.guessEventRepository = guessEventRepository;
+    }
+
+    @Test
+    void guessedLettersAreReplayedWhenTheSessionIsGone() {
+        gameSessionStore.endSession(1);
+
+        assertThat(gameService.getGuessedLetters(1)).containsExactly("s", "z");
+        assertThat(gameSessionStore.findSession(1)).isPresent();
+    }
+
+    @Test
+    void unknownGameHasNoGuessedLetters() {
+        assertThat(gameService.getGuessedLetters(2)).isEmpty();
+        assertThat(gameSessionStore.size()).isZero();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.demos.bnta.word_guesser.services;
+
+import com.demos.bnta.word_guesser.components.GameTokens;
+import com.demos.bnta.word_guesser.models.GameToken;
+import com.demos.bnta.word_guesser.models.Reply;
+import com.demos.bnta.word_guesser.models.Word;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameServiceTokenTests {
+
+    private GameService gameService;
+    private GameTokens gameTokens;
+    private WordService wordService;
+
+    @BeforeEach
+    void setUp() {
+        gameTokens = new GameTokens();
+        ReflectionTestUtils.setField(gameTokens, "secret", "test-secret");
+        gameTokens.init();
+        wordService = mock(WordService.class);
+
+        gameService = new GameService();
+        gameService.gameTokens = gameTokens;
+        gameService.wordService = wordService;
+        gameService.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void guessWithValidTokenIsChecked() {
+        Word word = new Word("safari");
+        word.setId(7L);
+        when(wordService.getCatalogWord(7L)).thenReturn(Optional.of(word));
+        String token = gameTokens.issue(new GameToken(1, 7L, 0, 0));
+
+        Optional<Reply> reply = gameService.processTokenGuess(token, 1, "s");
+
+        assertThat(reply).isPresent();
+        assertThat(reply.get().getWordState()).isEqualTo("s*****");
+    }
+
+    @Test
+    void tokenForWordNoLongerInCatalogIsRejected() {
+        when(wordService.getCatalogWord(7L)).thenReturn(Optional.empty());
+        String token = gameTokens.issue(new GameToken(1, 7L, 0, 0));
+
+        assertThat(gameService.processTokenGuess(token, 1, "s")).isEmpty();
+    }
+
+    @Test
+    void tokensAreRejectedWhenTurnedOff() {
+        String token = gameTokens.issue(new GameToken(1, 7L, 0, 0));
+        gameService.gameTokens = null;
+
+        assertThat(gameService.processTokenGuess(token, 1, "s")).isEmpty();
+    }
+
+}
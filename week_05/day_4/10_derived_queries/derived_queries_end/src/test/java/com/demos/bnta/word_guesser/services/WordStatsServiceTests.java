@@ -0,0 +1,63 @@
+package com.demos.bnta.word_guesser.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WordStatsServiceTests {
+
+    private WordStatsService wordStatsService;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        wordStatsService = new WordStatsService();
+        wordStatsService.jdbcTemplate = jdbcTemplate;
+        wordStatsService.transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        wordStatsService.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    void failedFlushKeepsTheTotalsForTheNextOne() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Lost connection"))
+                .thenReturn(new int[]{1});
+        wordStatsService.recordPlay("safari");
+
+        wordStatsService.flush();
+
+        assertThat(meterRegistry.counter("word_guesser.write-behind.failures", "table", "word_stats").count())
+                .isEqualTo(1);
+
+        wordStatsService.recordPlay("safari");
+        wordStatsService.flush();
+
+        // The row already exists, so both plays go in one UPDATE and nothing is left over
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(2L, 0L, 0L, "safari"));
+
+        wordStatsService.flush();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+}
@@ -9,6 +9,9 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 @Component
 public class DataLoader implements ApplicationRunner {
 
@@ -21,10 +24,10 @@ public class DataLoader implements ApplicationRunner {
     @Override
     public void run(ApplicationArguments args) throws Exception {
 
-        Flight flight1 = new Flight("LCY", 2, "2022-09-01", "15:00:00");
+        Flight flight1 = new Flight("LCY", 2, LocalDate.of(2022, 9, 1), LocalTime.of(15, 0));
         flightService.addNewFlight(flight1);
 
-        Flight flight2 = new Flight("EDI", 50, "2023-01-01", "07:00:00");
+        Flight flight2 = new Flight("EDI", 50, LocalDate.of(2023, 1, 1), LocalTime.of(7, 0));
         flightService.addNewFlight(flight2);
 
         Passenger colin = new Passenger("Colin", "colin.farquhar@brightnetwork.co.uk");
@@ -0,0 +1,73 @@
+package com.example.airline_api.components;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Remaining seats per flight, held in memory so a booking can claim a seat with a single
+// compare-and-set. Each flight's count is loaded the first time it's booked, from its capacity
+// less the rows already in flights_passengers. Assumes this is the only app instance booking.
+@Component
+public class SeatInventory {
+
+    private static final String REMAINING_SQL = "SELECT f.capacity - "
+            + "(SELECT COUNT(*) FROM flights_passengers fp WHERE fp.flight_id = f.id) "
+            + "FROM flights f WHERE f.id = ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, AtomicInteger> remainingSeats = new ConcurrentHashMap<>();
+
+    public boolean isKnownFlight(long flightId){
+        return seatsFor(flightId) != null;
+    }
+
+    // Claims a seat, returning false if the flight is full or doesn't exist
+    public boolean tryReserve(long flightId){
+        AtomicInteger remaining = seatsFor(flightId);
+        if (remaining == null){
+            return false;
+        }
+        int current;
+        do {
+            current = remaining.get();
+            if (current <= 0){
+                return false;
+            }
+        } while (!remaining.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    // Gives back a seat claimed by tryReserve whose booking couldn't be saved
+    public void release(long flightId){
+        AtomicInteger remaining = remainingSeats.get(flightId);
+        if (remaining != null){
+            remaining.incrementAndGet();
+        }
+    }
+
+    public void forget(long flightId){
+        remainingSeats.remove(flightId);
+    }
+
+    private AtomicInteger seatsFor(long flightId){
+        AtomicInteger remaining = remainingSeats.get(flightId);
+        if (remaining != null){
+            return remaining;
+        }
+        // Missing flights aren't cached, so a flight added later is still picked up
+        return remainingSeats.computeIfAbsent(flightId, id -> {
+            List<Integer> seats = jdbcTemplate.queryForList(REMAINING_SQL, Integer.class, id);
+            if (seats.isEmpty()){
+                return null;
+            }
+            return new AtomicInteger(seats.get(0));
+        });
+    }
+
+}
@@ -1,28 +1,57 @@
 package com.example.airline_api.controllers;
 
 import com.example.airline_api.models.BookingDTO;
+import com.example.airline_api.models.BookingResult;
 import com.example.airline_api.models.Flight;
+import com.example.airline_api.models.GroupBookingDTO;
 import com.example.airline_api.services.FlightService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/flights")
 public class FlightController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final Set<String> RANGE_PARAMETERS = Set.of("from", "to", "destination");
+
     @Autowired
     FlightService flightService;
 
     @GetMapping
-    public ResponseEntity<List<Flight>> getAllFlights(){
+    public ResponseEntity<List<Flight>> getAllFlights(@RequestParam Map<String, String> parameters){
+        // Only reached without both from and to, so any range parameter means an incomplete range
+        if (!Collections.disjoint(parameters.keySet(), RANGE_PARAMETERS)){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
         List<Flight> flights = flightService.getAllFlights();
         return new ResponseEntity<>(flights, HttpStatus.OK);
     }
 
+//  Flights departing in a time range, e.g. /flights?from=2023-01-01T00:00:00&to=2023-01-02T00:00:00&destination=EDI
+    @GetMapping(params = {"from", "to"})
+    public ResponseEntity<List<Flight>> getFlightsDepartingBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String destination
+    ){
+        if (!from.isBefore(to)){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        List<Flight> flights = flightService.getFlightsDepartingBetween(from, to, destination);
+        return new ResponseEntity<>(flights, HttpStatus.OK);
+    }
+
     @GetMapping(value = "/{id}")
     public ResponseEntity<Flight> getFlightById(@PathVariable long id){
         Flight flight = flightService.getFlightById(id);
@@ -36,10 +65,46 @@ public class FlightController {
     }
 
     @PatchMapping(value = "/{id}")
-    public ResponseEntity<Flight> addPassengerToFlight(@PathVariable long id, @RequestBody BookingDTO bookingDTO){
+    public ResponseEntity<BookingResult> addPassengerToFlight(@PathVariable long id, @RequestBody BookingDTO bookingDTO){
         long passengerId = bookingDTO.getPassengerId();
-        Flight updatedFlight = flightService.addPassengerToFlight(id, passengerId);
-        return new ResponseEntity<>(updatedFlight, HttpStatus.OK);
+        BookingResult result = flightService.addPassengerToFlight(id, passengerId);
+        switch (result.getStatus()){
+            case BOOKED:
+                return new ResponseEntity<>(result, HttpStatus.OK);
+            case FLIGHT_FULL:
+            case DUPLICATE:
+                return new ResponseEntity<>(result, HttpStatus.CONFLICT);
+            default:
+                return new ResponseEntity<>(result, HttpStatus.NOT_FOUND);
+        }
+    }
+
+//  Books many passengers, on one or more flights, in a single request
+    @PostMapping(value = "/bookings")
+    public ResponseEntity<List<BookingResult>> addPassengersToFlights(@RequestBody List<GroupBookingDTO> bookings){
+        int size = 0;
+        for (GroupBookingDTO booking : bookings) {
+            // Every booking needs a list of passenger ids, with no gaps in it
+            if (booking == null || booking.getPassengerIds() == null || booking.getPassengerIds().contains(null)){
+                return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+            }
+            size += booking.getPassengerIds().size();
+        }
+        if (size > MAX_BATCH_SIZE){
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        List<BookingResult> results;
+        try {
+            results = flightService.addPassengersToFlights(bookings);
+        } catch (DuplicateKeyException e) {
+            // A concurrent request booked one of these passengers first; the retry sees it as a DUPLICATE
+            try {
+                results = flightService.addPassengersToFlights(bookings);
+            } catch (DuplicateKeyException again) {
+                return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+            }
+        }
+        return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -0,0 +1,41 @@
+package com.example.airline_api.models;
+
+public class BookingResult {
+
+    private long flightId;
+    private long passengerId;
+    private BookingStatus status;
+
+    public BookingResult(long flightId, long passengerId, BookingStatus status) {
+        this.flightId = flightId;
+        this.passengerId = passengerId;
+        this.status = status;
+    }
+
+    public BookingResult() {
+    }
+
+    public long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(long flightId) {
+        this.flightId = flightId;
+    }
+
+    public long getPassengerId() {
+        return passengerId;
+    }
+
+    public void setPassengerId(long passengerId) {
+        this.passengerId = passengerId;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+}
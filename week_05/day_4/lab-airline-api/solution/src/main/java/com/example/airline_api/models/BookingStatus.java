@@ -0,0 +1,9 @@
+package com.example.airline_api.models;
+
+public enum BookingStatus {
+    BOOKED,
+    FLIGHT_FULL,
+    FLIGHT_NOT_FOUND,
+    PASSENGER_NOT_FOUND,
+    DUPLICATE
+}
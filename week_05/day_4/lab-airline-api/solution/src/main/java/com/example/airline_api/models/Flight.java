@@ -3,10 +3,17 @@ package com.example.airline_api.models;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity(name = "flights")
+@Table(name = "flights", indexes = {
+        @Index(name = "idx_flights_departure", columnList = "departure"),
+        @Index(name = "idx_flights_destination_departure", columnList = "destination, departure")
+})
 public class Flight {
 
     @Id
@@ -20,21 +27,30 @@ public class Flight {
     private int capacity;
 
     @Column(name = "departureDate")
-    private String departureDate;
+    private LocalDate departureDate;
 
     @Column(name = "departureTime")
-    private String departureTime;
+    private LocalTime departureTime;
 
+    // Date and time combined, so time range searches can use a single index
+    @Column(name = "departure")
+    private LocalDateTime departure;
+
+    // A passenger can only be booked onto a flight once
     @ManyToMany
     @JoinTable(
             name = "flights_passengers",
             joinColumns = {@JoinColumn(name = "flight_id", nullable = false)},
-            inverseJoinColumns = {@JoinColumn(name = "passenger_id", nullable = false)}
+            inverseJoinColumns = {@JoinColumn(name = "passenger_id", nullable = false)},
+            uniqueConstraints = @UniqueConstraint(
+                    name = "uk_flights_passengers",
+                    columnNames = {"flight_id", "passenger_id"}
+            )
     )
     @JsonIgnoreProperties({"flights"})
     private List<Passenger> passengers;
 
-    public Flight(String destination, int capacity, String departureDate, String departureTime) {
+    public Flight(String destination, int capacity, LocalDate departureDate, LocalTime departureTime) {
         this.destination = destination;
         this.capacity = capacity;
         this.departureDate = departureDate;
@@ -45,6 +61,16 @@ public class Flight {
     public Flight() {
     }
 
+    @PrePersist
+    @PreUpdate
+    private void updateDeparture() {
+        if (departureDate != null && departureTime != null) {
+            this.departure = LocalDateTime.of(departureDate, departureTime);
+        } else {
+            this.departure = null;
+        }
+    }
+
     public long getId() {
         return id;
     }
@@ -69,22 +95,26 @@ public class Flight {
         this.capacity = capacity;
     }
 
-    public String getDepartureDate() {
+    public LocalDate getDepartureDate() {
         return departureDate;
     }
 
-    public void setDepartureDate(String departureDate) {
+    public void setDepartureDate(LocalDate departureDate) {
         this.departureDate = departureDate;
     }
 
-    public String getDepartureTime() {
+    public LocalTime getDepartureTime() {
         return departureTime;
     }
 
-    public void setDepartureTime(String departureTime) {
+    public void setDepartureTime(LocalTime departureTime) {
         this.departureTime = departureTime;
     }
 
+    public LocalDateTime getDeparture() {
+        return departure;
+    }
+
     public List<Passenger> getPassengers() {
         return passengers;
     }
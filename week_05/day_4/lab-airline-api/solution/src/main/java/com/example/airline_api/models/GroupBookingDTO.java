@@ -0,0 +1,35 @@
+package com.example.airline_api.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GroupBookingDTO {
+
+    private long flightId;
+    private List<Long> passengerIds;
+
+    public GroupBookingDTO(long flightId, List<Long> passengerIds) {
+        this.flightId = flightId;
+        this.passengerIds = passengerIds;
+    }
+
+    public GroupBookingDTO() {
+        this.passengerIds = new ArrayList<>();
+    }
+
+    public long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(long flightId) {
+        this.flightId = flightId;
+    }
+
+    public List<Long> getPassengerIds() {
+        return passengerIds;
+    }
+
+    public void setPassengerIds(List<Long> passengerIds) {
+        this.passengerIds = passengerIds;
+    }
+}
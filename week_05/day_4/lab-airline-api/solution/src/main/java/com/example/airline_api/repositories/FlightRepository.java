@@ -2,8 +2,46 @@ package com.example.airline_api.repositories;
 
 import com.example.airline_api.models.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
+
+//  Flights departing from (inclusive) up to (exclusive), read as a range of idx_flights_departure
+    @Query("SELECT f FROM flights f WHERE f.departure >= :from AND f.departure < :to ORDER BY f.departure")
+    List<Flight> findDepartingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT f FROM flights f "
+            + "WHERE f.destination = :destination AND f.departure >= :from AND f.departure < :to "
+            + "ORDER BY f.departure")
+    List<Flight> findDepartingBetween(
+            @Param("destination") String destination,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+//  Existing bookings as (flight id, passenger id) pairs, for checking a batch for repeats
+    @Query("SELECT f.id, p.id FROM flights f JOIN f.passengers p WHERE f.id IN :flightIds AND p.id IN :passengerIds")
+    List<Object[]> findBookings(
+            @Param("flightIds") Collection<Long> flightIds,
+            @Param("passengerIds") Collection<Long> passengerIds
+    );
+
+//  Adds a booking without loading the flight's passengers
+    @Modifying
+    @Query(
+            value = "INSERT INTO flights_passengers (flight_id, passenger_id) VALUES (:flightId, :passengerId)",
+            nativeQuery = true
+    )
+    @Transactional
+    void addPassengerToFlight(@Param("flightId") long flightId, @Param("passengerId") long passengerId);
+
 }
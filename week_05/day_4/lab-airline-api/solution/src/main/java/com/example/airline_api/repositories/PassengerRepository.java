@@ -2,8 +2,18 @@ package com.example.airline_api.repositories;
 
 import com.example.airline_api.models.Passenger;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PassengerRepository extends JpaRepository<Passenger, Long> {
+
+//  Only the ids, so checking a large booking doesn't load every passenger
+    @Query("SELECT p.id FROM passengers p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,26 +1,59 @@
 package com.example.airline_api.services;
 
+import com.example.airline_api.components.SeatInventory;
+import com.example.airline_api.models.BookingResult;
+import com.example.airline_api.models.BookingStatus;
 import com.example.airline_api.models.Flight;
-import com.example.airline_api.models.Passenger;
+import com.example.airline_api.models.GroupBookingDTO;
 import com.example.airline_api.repositories.FlightRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class FlightService {
 
+    // Standard SQLSTATEs: a repeated (flight, passenger) pair, and a missing passenger
+    // (H2 reports a missing parent row as 23506 rather than 23503)
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+
     @Autowired
     FlightRepository flightRepository;
 
     @Autowired
     PassengerService passengerService;
 
+    @Autowired
+    SeatInventory seatInventory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     public List<Flight> getAllFlights(){
         return flightRepository.findAll();
     }
 
+    public List<Flight> getFlightsDepartingBetween(LocalDateTime from, LocalDateTime to, String destination){
+        if (destination == null){
+            return flightRepository.findDepartingBetween(from, to);
+        }
+        return flightRepository.findDepartingBetween(destination, from, to);
+    }
+
     public Flight getFlightById(long id){
         return flightRepository.findById(id).get();
     }
@@ -30,18 +63,111 @@ public class FlightService {
         return flight;
     }
 
-    public Flight addPassengerToFlight(long flightId, long passengerId){
-        Flight flight = flightRepository.findById(flightId).get();
-        Passenger passenger = passengerService.getPassengerById(passengerId);
-        List<Passenger> passengers = flight.getPassengers();
-        passengers.add(passenger);
-        flight.setPassengers(passengers);
-        flightRepository.save(flight);
-        return flight;
+//  A seat is claimed before the booking row is inserted, so a flight can never be overbooked.
+//  The seat goes back if the row can't be inserted.
+    public BookingResult addPassengerToFlight(long flightId, long passengerId){
+        if (!seatInventory.tryReserve(flightId)){
+            BookingStatus status = seatInventory.isKnownFlight(flightId)
+                    ? BookingStatus.FLIGHT_FULL
+                    : BookingStatus.FLIGHT_NOT_FOUND;
+            return new BookingResult(flightId, passengerId, status);
+        }
+        try {
+            flightRepository.addPassengerToFlight(flightId, passengerId);
+        } catch (DataIntegrityViolationException e) {
+            seatInventory.release(flightId);
+            String sqlState = sqlStateOf(e);
+            if (UNIQUE_VIOLATION.equals(sqlState)){
+                return new BookingResult(flightId, passengerId, BookingStatus.DUPLICATE);
+            }
+            if (FOREIGN_KEY_VIOLATIONS.contains(sqlState)){
+                return new BookingResult(flightId, passengerId, BookingStatus.PASSENGER_NOT_FOUND);
+            }
+            throw e;
+        }
+        return new BookingResult(flightId, passengerId, BookingStatus.BOOKED);
+    }
+
+//  Books every passenger on every listed flight with one passenger lookup, one lookup of
+//  existing bookings and one batch insert. Each booking gets its own result; the ones that
+//  can't be made don't stop the rest. A passenger already on the flight, or listed for it
+//  earlier in the same request, is a DUPLICATE and doesn't take a seat.
+    @Transactional
+    public List<BookingResult> addPassengersToFlights(List<GroupBookingDTO> bookings){
+        Set<Long> flightIds = new HashSet<>();
+        Set<Long> requestedIds = new HashSet<>();
+        for (GroupBookingDTO booking : bookings) {
+            flightIds.add(booking.getFlightId());
+            requestedIds.addAll(booking.getPassengerIds());
+        }
+        Set<Long> existingIds = passengerService.getExistingPassengerIds(requestedIds);
+        Map<Long, Set<Long>> bookedByFlight = getBookedPassengerIds(flightIds, existingIds);
+
+        List<BookingResult> results = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (GroupBookingDTO booking : bookings) {
+            long flightId = booking.getFlightId();
+            Set<Long> booked = bookedByFlight.computeIfAbsent(flightId, id -> new HashSet<>());
+            for (Long passengerId : booking.getPassengerIds()) {
+                BookingStatus status;
+                if (!existingIds.contains(passengerId)){
+                    status = BookingStatus.PASSENGER_NOT_FOUND;
+                } else if (!booked.add(passengerId)){
+                    status = BookingStatus.DUPLICATE;
+                } else if (seatInventory.tryReserve(flightId)){
+                    status = BookingStatus.BOOKED;
+                    rows.add(new Object[]{flightId, passengerId});
+                } else if (seatInventory.isKnownFlight(flightId)){
+                    status = BookingStatus.FLIGHT_FULL;
+                } else {
+                    status = BookingStatus.FLIGHT_NOT_FOUND;
+                }
+                results.add(new BookingResult(flightId, passengerId, status));
+            }
+        }
+
+        if (rows.isEmpty()){
+            return results;
+        }
+        // If the transaction rolls back nothing was booked, so every claimed seat goes back
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK){
+                    for (Object[] row : rows) {
+                        seatInventory.release((Long) row[0]);
+                    }
+                }
+            }
+        });
+        // A passenger booked by a concurrent request trips the unique constraint and rolls this back
+        jdbcTemplate.batchUpdate("INSERT INTO flights_passengers (flight_id, passenger_id) VALUES (?, ?)", rows);
+        return results;
+    }
+
+    private Map<Long, Set<Long>> getBookedPassengerIds(Set<Long> flightIds, Set<Long> passengerIds){
+        Map<Long, Set<Long>> bookedByFlight = new HashMap<>();
+        if (flightIds.isEmpty() || passengerIds.isEmpty()){
+            return bookedByFlight;
+        }
+        for (Object[] booking : flightRepository.findBookings(flightIds, passengerIds)) {
+            bookedByFlight.computeIfAbsent((Long) booking[0], id -> new HashSet<>()).add((Long) booking[1]);
+        }
+        return bookedByFlight;
+    }
+
+    private static String sqlStateOf(Throwable e){
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException){
+                return ((SQLException) cause).getSQLState();
+            }
+        }
+        return null;
     }
 
     public void deleteFlight(long id){
         flightRepository.deleteById(id);
+        seatInventory.forget(id);
     }
 
 }
@@ -5,7 +5,10 @@ import com.example.airline_api.repositories.PassengerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class PassengerService {
@@ -21,6 +24,13 @@ public class PassengerService {
         return passengerRepository.findById(id).get();
     }
 
+    public Set<Long> getExistingPassengerIds(Collection<Long> ids){
+        if (ids.isEmpty()){
+            return new HashSet<>();
+        }
+        return new HashSet<>(passengerRepository.findExistingIds(ids));
+    }
+
     public Passenger addNewPassenger(Passenger passenger){
         passengerRepository.save(passenger);
         return passenger;
@@ -0,0 +1,51 @@
+package com.example.airline_api.controllers;
+
+import com.example.airline_api.services.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FlightController.class)
+class FlightControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    FlightService flightService;
+
+    @Test
+    void incompleteRangesAreBadRequest() throws Exception {
+        mockMvc.perform(get("/flights").param("from", "2023-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/flights").param("to", "2023-03-02T00:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/flights").param("destination", "EDI"))
+                .andExpect(status().isBadRequest());
+
+        verify(flightService, never()).getAllFlights();
+        verify(flightService, never()).getFlightsDepartingBetween(any(), any(), any());
+    }
+
+    @Test
+    void noParametersListsEveryFlight() throws Exception {
+        when(flightService.getAllFlights()).thenReturn(new ArrayList<>());
+
+        mockMvc.perform(get("/flights"))
+                .andExpect(status().isOk());
+
+        verify(flightService).getAllFlights();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.airline_api.repositories;
+
+import com.example.airline_api.models.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class FlightRepositoryTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 3, 1, 9, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 3, 2, 9, 0);
+
+    @Autowired
+    FlightRepository flightRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        persist("EDI", FROM.minusNanos(1000));
+        persist("EDI", FROM);
+        persist("GLA", FROM.plusHours(3));
+        persist("EDI", TO.minusMinutes(1));
+        persist("EDI", TO);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void rangeIncludesFromAndExcludesTo() {
+        List<Flight> flights = flightRepository.findDepartingBetween(FROM, TO);
+
+        assertThat(flights).extracting(Flight::getDeparture)
+                .containsExactly(FROM, FROM.plusHours(3), TO.minusMinutes(1));
+    }
+
+    @Test
+    void destinationOnlyMatchesItsFlights() {
+        List<Flight> flights = flightRepository.findDepartingBetween("EDI", FROM, TO);
+
+        assertThat(flights).extracting(Flight::getDeparture).containsExactly(FROM, TO.minusMinutes(1));
+        assertThat(flights).extracting(Flight::getDestination).containsOnly("EDI");
+        assertThat(flightRepository.findDepartingBetween("LHR", FROM, TO)).isEmpty();
+    }
+
+    private void persist(String destination, LocalDateTime departure) {
+        entityManager.persist(new Flight(destination, 100, departure.toLocalDate(), departure.toLocalTime()));
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.example.airline_api.services;
+
+import com.example.airline_api.components.SeatInventory;
+import com.example.airline_api.models.BookingResult;
+import com.example.airline_api.models.BookingStatus;
+import com.example.airline_api.models.Flight;
+import com.example.airline_api.models.GroupBookingDTO;
+import com.example.airline_api.models.Passenger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flight_bookings;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureMockMvc
+class FlightServiceBookingTests {
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    FlightService flightService;
+
+    @Autowired
+    PassengerService passengerService;
+
+    @Autowired
+    SeatInventory seatInventory;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    // Passes every call through unless a test says otherwise
+    @SpyBean
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void eachBookingGetsItsOwnResult() {
+        Flight small = newFlight("EDI", 2);
+        Flight large = newFlight("LHR", 2);
+        long alice = newPassenger("Alice");
+        long bob = newPassenger("Bob");
+        long carol = newPassenger("Carol");
+        flightService.addPassengerToFlight(large.getId(), alice);
+
+        List<BookingResult> results = flightService.addPassengersToFlights(List.of(
+                new GroupBookingDTO(small.getId(), List.of(alice, bob, alice, carol, MISSING_ID)),
+                new GroupBookingDTO(large.getId(), List.of(alice, bob)),
+                new GroupBookingDTO(MISSING_ID, List.of(alice))
+        ));
+
+        assertThat(results).extracting(BookingResult::getStatus).containsExactly(
+                BookingStatus.BOOKED,
+                BookingStatus.BOOKED,
+                BookingStatus.DUPLICATE,
+                BookingStatus.FLIGHT_FULL,
+                BookingStatus.PASSENGER_NOT_FOUND,
+                BookingStatus.DUPLICATE,
+                BookingStatus.BOOKED,
+                BookingStatus.FLIGHT_NOT_FOUND
+        );
+        assertThat(bookingCount(small)).isEqualTo(2);
+        assertThat(bookingCount(large)).isEqualTo(2);
+    }
+
+    @Test
+    void failedInsertReleasesClaimedSeats() {
+        Flight flight = newFlight("GLA", 2);
+        long alice = newPassenger("Alice");
+        long bob = newPassenger("Bob");
+        doThrow(new DataAccessResourceFailureException("Lost connection"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        assertThatThrownBy(() -> flightService.addPassengersToFlights(List.of(
+                new GroupBookingDTO(flight.getId(), List.of(alice, bob))
+        ))).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(bookingCount(flight)).isZero();
+        // Both seats are back, and no more than that
+        assertThat(seatInventory.tryReserve(flight.getId())).isTrue();
+        assertThat(seatInventory.tryReserve(flight.getId())).isTrue();
+        assertThat(seatInventory.tryReserve(flight.getId())).isFalse();
+    }
+
+    @Test
+    void passengerBookedByConcurrentRequestIsDuplicateAndSeatsGoBack() throws Exception {
+        Flight flight = newFlight("INV", 2);
+        long alice = newPassenger("Alice");
+        long bob = newPassenger("Bob");
+        // Another request books Alice, and commits, after this one has checked the existing bookings
+        doAnswer(invocation -> {
+            new TransactionTemplate(transactionManager, new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW))
+                    .executeWithoutResult(status -> jdbcTemplate.update(
+                            "INSERT INTO flights_passengers (flight_id, passenger_id) VALUES (?, ?)", flight.getId(), alice));
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        mockMvc.perform(post("/flights/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("[{\"flightId\": %d, \"passengerIds\": [%d, %d]}]", flight.getId(), alice, bob)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status").value(contains("DUPLICATE", "BOOKED")));
+
+        assertThat(bookingCount(flight)).isEqualTo(2);
+        // The first attempt's two seats came back, and the retry took one for Bob
+        assertThat(seatInventory.tryReserve(flight.getId())).isTrue();
+        assertThat(seatInventory.tryReserve(flight.getId())).isFalse();
+    }
+
+    @Test
+    void bookingSamePassengerTwiceIsConflictAndKeepsOneSeat() throws Exception {
+        Flight flight = newFlight("BFS", 2);
+        long alice = newPassenger("Alice");
+        String booking = String.format("{\"passengerId\": %d}", alice);
+
+        mockMvc.perform(patch("/flights/" + flight.getId()).contentType(MediaType.APPLICATION_JSON).content(booking))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/flights/" + flight.getId()).contentType(MediaType.APPLICATION_JSON).content(booking))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("DUPLICATE"));
+
+        assertThat(bookingCount(flight)).isEqualTo(1);
+        assertThat(seatInventory.tryReserve(flight.getId())).isTrue();
+        assertThat(seatInventory.tryReserve(flight.getId())).isFalse();
+    }
+
+    @Test
+    void bookingMissingPassengerGivesSeatBack() {
+        Flight flight = newFlight("CWL", 1);
+
+        BookingResult result = flightService.addPassengerToFlight(flight.getId(), MISSING_ID);
+
+        assertThat(result.getStatus()).isEqualTo(BookingStatus.PASSENGER_NOT_FOUND);
+        assertThat(seatInventory.tryReserve(flight.getId())).isTrue();
+    }
+
+    @Test
+    void missingPassengerIdsAreBadRequest() throws Exception {
+        mockMvc.perform(post("/flights/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"flightId\": 1, \"passengerIds\": null}]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/flights/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"flightId\": 1, \"passengerIds\": [1, null]}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Flight newFlight(String destination, int capacity) {
+        return flightService.addNewFlight(new Flight(destination, capacity, LocalDate.of(2023, 3, 1), LocalTime.of(9, 0)));
+    }
+
+    private long newPassenger(String name) {
+        return passengerService.addNewPassenger(new Passenger(name, name.toLowerCase() + "@example.com")).getId();
+    }
+
+    private int bookingCount(Flight flight) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flights_passengers WHERE flight_id = ?", Integer.class, flight.getId());
+    }
+
+}
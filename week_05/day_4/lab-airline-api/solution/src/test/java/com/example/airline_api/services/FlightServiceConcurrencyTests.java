@@ -0,0 +1,82 @@
+package com.example.airline_api.services;
+
+import com.example.airline_api.models.BookingResult;
+import com.example.airline_api.models.BookingStatus;
+import com.example.airline_api.models.Flight;
+import com.example.airline_api.models.Passenger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flight_concurrency;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+class FlightServiceConcurrencyTests {
+
+    private static final int THREADS = 64;
+    private static final int BOOKINGS_PER_THREAD = 4;
+    private static final int CAPACITY = 100;
+
+    @Autowired
+    FlightService flightService;
+
+    @Autowired
+    PassengerService passengerService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentBookingsNeverOverbook() throws Exception {
+        Flight flight = flightService.addNewFlight(new Flight("GLA", CAPACITY, LocalDate.of(2023, 3, 1), LocalTime.of(9, 0)));
+        List<Long> passengerIds = new ArrayList<>();
+        for (int i = 0; i < THREADS * BOOKINGS_PER_THREAD; i++) {
+            Passenger passenger = passengerService.addNewPassenger(new Passenger("Passenger " + i, i + "@example.com"));
+            passengerIds.add(passenger.getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<BookingResult>>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<Long> ids = passengerIds.subList(thread * BOOKINGS_PER_THREAD, (thread + 1) * BOOKINGS_PER_THREAD);
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<BookingResult> results = new ArrayList<>();
+                for (Long passengerId : ids) {
+                    results.add(flightService.addPassengerToFlight(flight.getId(), passengerId));
+                }
+                return results;
+            }));
+        }
+        start.countDown();
+        List<BookingResult> results = new ArrayList<>();
+        for (Future<List<BookingResult>> future : futures) {
+            results.addAll(future.get());
+        }
+        executor.shutdown();
+
+        long booked = results.stream().filter(result -> result.getStatus() == BookingStatus.BOOKED).count();
+        long full = results.stream().filter(result -> result.getStatus() == BookingStatus.FLIGHT_FULL).count();
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flights_passengers WHERE flight_id = ?", Integer.class, flight.getId());
+
+        assertThat(booked).isEqualTo(CAPACITY);
+        assertThat(full).isEqualTo(THREADS * BOOKINGS_PER_THREAD - CAPACITY);
+        assertThat(rows).isEqualTo(CAPACITY);
+    }
+
+}